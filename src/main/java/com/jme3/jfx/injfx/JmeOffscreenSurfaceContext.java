@@ -46,6 +46,11 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
      */
     private volatile int height;
 
+    /**
+     * The scale of the render size relative to the size of the destination.
+     */
+    private volatile float renderScale;
+
     /**
      * The background context.
      */
@@ -59,6 +64,25 @@ public class JmeOffscreenSurfaceContext implements JmeContext {
         this.backgroundContext = createBackgroundContext();
         this.height = 1;
         this.width = 1;
+        this.renderScale = 1F;
+    }
+
+    /**
+     * Gets the scale of the render size relative to the size of the destination.
+     *
+     * @return the render scale.
+     */
+    public float getRenderScale() {
+        return renderScale;
+    }
+
+    /**
+     * Sets the scale of the render size relative to the size of the destination.
+     *
+     * @param renderScale the render scale.
+     */
+    public void setRenderScale(final float renderScale) {
+        this.renderScale = renderScale;
     }
 
     /**
@@ -3,8 +3,10 @@ package com.jme3.jfx.injfx;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import com.jme3.jfx.injfx.processor.CanvasFrameTransferSceneProcessor;
+import com.jme3.jfx.injfx.processor.FrameSinkSceneProcessor;
 import com.jme3.jfx.injfx.processor.FrameTransferSceneProcessor;
 import com.jme3.jfx.injfx.processor.ImageViewFrameTransferSceneProcessor;
+import com.jme3.jfx.injfx.transfer.FrameSink;
 import com.jme3.renderer.ViewPort;
 import com.jme3.system.AppSettings;
 import javafx.application.Platform;
@@ -302,4 +304,32 @@ public class JmeToJfxIntegrator {
 
         return processor;
     }
+
+    /**
+     * Start and bind frame sink scene processor to the main view port without JavaFX.
+     *
+     * @param application the application
+     * @param sink        the sink of frames
+     * @param width       the width of frames
+     * @param height      the height of frames
+     * @param factory     the factory
+     * @return the frame sink scene processor
+     */
+    public static @NotNull FrameSinkSceneProcessor startAndBindHeadless(
+            @NotNull JmeToJfxApplication application,
+            @NotNull FrameSink sink,
+            int width,
+            int height,
+            @NotNull Function<Runnable, Thread> factory
+    ) {
+
+        factory.apply(application::start).start();
+
+        var processor = new FrameSinkSceneProcessor(sink, width, height);
+
+        EXECUTOR.addToExecute(() ->
+                processor.bind(application, application.getViewPort(), true));
+
+        return processor;
+    }
 }
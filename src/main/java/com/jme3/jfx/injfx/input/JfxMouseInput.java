@@ -189,6 +189,14 @@ public class JfxMouseInput extends JfxInput implements MouseInput {
             y = (int) Math.round(ypos);
         }
 
+        // the scene can be rendered in a lower resolution than the destination
+        var renderScale = context.getRenderScale();
+
+        if (renderScale != 1F) {
+            x = Math.round(x * renderScale);
+            y = Math.round(y * renderScale);
+        }
+
         if (mouseX == 0) mouseX = x;
         if (mouseY == 0) mouseY = y;
 
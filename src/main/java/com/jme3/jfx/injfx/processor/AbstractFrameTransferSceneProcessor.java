@@ -1,26 +1,36 @@
 package com.jme3.jfx.injfx.processor;
 
 import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.app.state.AbstractAppState;
 import com.jme3.jfx.injfx.JmeOffscreenSurfaceContext;
 import com.jme3.jfx.injfx.JmeToJfxApplication;
 import com.jme3.jfx.injfx.transfer.FrameTransfer;
+import com.jme3.jfx.injfx.transfer.impl.FrameAtlas;
+import com.jme3.jfx.injfx.transfer.impl.FrameRecorder;
+import com.jme3.jfx.injfx.transfer.impl.FrameResourcePool;
+import com.jme3.jfx.injfx.transfer.impl.RecordingFrameTransfer;
 import com.jme3.jfx.util.JfxPlatform;
 import com.jme3.profile.AppProfiler;
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.ViewPort;
 import com.jme3.renderer.queue.RenderQueue;
 import com.jme3.texture.FrameBuffer;
-import com.jme3.texture.Image;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerLevel;
 import com.ss.rlib.common.logging.LoggerManager;
 import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The base implementation of scene processor for transferring frames.
@@ -33,6 +43,17 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
 
     protected static final Logger LOGGER = LoggerManager.getLogger(JfxPlatform.class);
 
+    /**
+     * The app state to check changes of view ports before any of them is rendered.
+     */
+    private final class ChangeTrackingState extends AbstractAppState {
+
+        @Override
+        public void render(@NotNull RenderManager renderManager) {
+            frameReadNeeded = isFrameReadNeeded(renderManager);
+        }
+    }
+
     /**
      * The width listener.
      */
@@ -55,7 +76,43 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
      * The flag to decide when we should resize.
      */
     @NotNull
-    private final AtomicInteger reshapeNeeded;
+    private final AtomicBoolean reshapeNeeded;
+
+    /**
+     * The disposed frame transfers which have resources in use by the FX thread, only for the render thread.
+     */
+    @NotNull
+    private final List<FrameTransfer> pendingDisposals;
+
+    /**
+     * The coordinator of resizing the destination.
+     */
+    @NotNull
+    private final ResizeCoordinator resizeCoordinator;
+
+    /**
+     * The tracker of changes of the view port.
+     */
+    @NotNull
+    private final ViewPortChangeTracker changeTracker;
+
+    /**
+     * The app state to check changes of view ports.
+     */
+    @NotNull
+    private final ChangeTrackingState changeTrackingState;
+
+    /**
+     * The controller of the render scale.
+     */
+    @NotNull
+    private final RenderScaleController scaleController;
+
+    /**
+     * The tracker of visibility of the destination, only for the FX thread.
+     */
+    @Nullable
+    private DestinationVisibilityTracker visibilityTracker;
 
     /**
      * The render manager.
@@ -69,11 +126,23 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
     @Nullable
     private ViewPort viewPort;
 
+    /**
+     * The output frame buffer which was set to the view port by this processor, only for the render thread.
+     */
+    @Nullable
+    private FrameBuffer outputFrameBuffer;
+
+    /**
+     * The region of the frame atlas which the view port renders to, only for the render thread.
+     */
+    @Nullable
+    private FrameAtlas.Region atlasRegion;
+
     /**
      * The frame transfer.
      */
     @Nullable
-    private FrameTransfer frameTransfer;
+    private volatile FrameTransfer frameTransfer;
 
     /**
      * The transfer mode.
@@ -98,18 +167,111 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
      */
     private volatile boolean main;
 
-    private int askWidth;
-    private int askHeight;
+    /**
+     * How many frames the async reading of frames can be behind.
+     */
+    private volatile int readbackLatency;
+
+    /**
+     * The flag of converting frames on GPU.
+     */
+    private volatile boolean gpuConversion;
+
+    /**
+     * The flag of processing large frames concurrently.
+     */
+    private volatile boolean parallelProcessing;
+
+    /**
+     * The flag of skipping reading of static frames.
+     */
+    private volatile boolean changeTracking;
+
+    /**
+     * The flag of reading the current frame.
+     */
+    private boolean frameReadNeeded;
+
+    /**
+     * The budget of frame time in milliseconds or 0 if the render scale is fixed.
+     */
+    private volatile float frameTimeBudget;
+
+    /**
+     * The scale of the render size relative to the destination's size.
+     */
+    private volatile float renderScale;
+
+    /**
+     * The time when the current frame was started.
+     */
+    private long frameStartTime;
+
+    /**
+     * The flag of pausing transferring frames while the destination isn't visible.
+     */
+    private volatile boolean visibilityTracking;
+
+    /**
+     * The flag of pausing rendering of the view port while the destination isn't visible.
+     */
+    private volatile boolean renderSuspension;
+
+    /**
+     * The flag of transferring only the visible part of frames.
+     */
+    private volatile boolean regionTracking;
+
+    /**
+     * The visible part of frames in fractions of the size or null if frames are visible whole.
+     */
+    @Nullable
+    private volatile Rectangle2D visibleRegion;
+
+    /**
+     * The recorder of transferred frames or null.
+     */
+    @Nullable
+    private volatile FrameRecorder frameRecorder;
+
+    /**
+     * The shared atlas to render the not main view port to or null.
+     */
+    @Nullable
+    private volatile FrameAtlas frameAtlas;
+
+    /**
+     * The visibility of the destination.
+     */
+    private volatile boolean destinationVisible;
+
+    /**
+     * The flag of disabling the view port by this processor, only for the render thread.
+     */
+    private boolean renderSuspended;
+
+    /**
+     * The count of dropped frames of disposed frame transfers.
+     */
+    private volatile long droppedFrames;
 
-    private boolean askFixAspect;
     private boolean enabled;
 
     public AbstractFrameTransferSceneProcessor() {
         transferMode = TransferMode.ALWAYS;
-        askWidth = 1;
-        askHeight = 1;
         main = true;
-        reshapeNeeded = new AtomicInteger(2);
+        reshapeNeeded = new AtomicBoolean(true);
+        changeTracker = new ViewPortChangeTracker();
+        changeTrackingState = new ChangeTrackingState();
+        resizeCoordinator = new ResizeCoordinator();
+        resizeCoordinator.setQuietPeriod(getDefaultResizeQuietPeriod());
+        pendingDisposals = new ArrayList<>();
+        scaleController = new RenderScaleController();
+        renderScale = 1F;
+        visibilityTracking = true;
+        destinationVisible = true;
+        changeTracking = true;
+        frameReadNeeded = true;
         widthListener = (view, oldValue, newValue) -> notifyChangedWidth(newValue);
         heightListener = (view, oldValue, newValue) -> notifyChangedHeight(newValue);
         rationListener = (view, oldValue, newValue) -> notifyChangedRatio(newValue);
@@ -244,21 +406,28 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
         newWidth = Math.max(newWidth, 1);
         newHeight = Math.max(newHeight, 1);
 
-        if (askWidth == newWidth && askWidth == newHeight && askFixAspect == fixAspect) {
+        // the transfer is rebuilt in the render thread when the size is settled
+        if (!resizeCoordinator.request(newWidth, newHeight, fixAspect)) {
             return;
         }
 
-        askWidth = newWidth;
-        askHeight = newHeight;
-        askFixAspect = fixAspect;
-        reshapeNeeded.set(2);
+        LOGGER.debug(this, resizeCoordinator, coordinator -> "notify resized to " +
+                coordinator.getRequestedWidth() + "x" + coordinator.getRequestedHeight());
+    }
 
-        LOGGER.debug(this, this, processor -> "notify resized to " + processor.askWidth + "x" + processor.askHeight);
+    /**
+     * Gets the default quiet period of resizing from the system property 'jfx.frame.transfer.resize.quiet.period'.
+     *
+     * @return the quiet period in ms.
+     */
+    protected long getDefaultResizeQuietPeriod() {
+        var quietPeriod = System.getProperty("jfx.frame.transfer.resize.quiet.period", "200");
+        return Long.parseLong(quietPeriod);
     }
 
     @Override
     public void reshape() {
-        reshapeNeeded.set(2);
+        reshapeNeeded.set(true);
     }
 
     /**
@@ -357,6 +526,8 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
         this.viewPort = viewPort;
         this.viewPort.addProcessor(this);
 
+        application.getStateManager().attach(changeTrackingState);
+
         JfxPlatform.runInFxThread(() -> bindDestination(application, destination, inputNode));
     }
 
@@ -388,13 +559,135 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
 
         destination.setPickOnBounds(true);
 
+        updateOrientation(destination);
+
         notifyComponentResized(getDestinationWidth(), getDestinationHeight(), isPreserveRatio());
     }
 
+    /**
+     * Update the orientation of the destination, frames converted on CPU are flipped by Y.
+     *
+     * @param destination the destination.
+     */
+    protected void updateOrientation(@NotNull T destination) {
+        destination.setScaleY(isGpuConversion() ? 1.0 : -1.0);
+    }
+
     /**
      * Bind listeners to current destination.
      */
     protected void bindListeners() {
+        visibilityTracker = new DestinationVisibilityTracker(getDestination(), this::notifyVisibilityChanged);
+        visibilityTracker.setBoundsHandler(bounds -> updateVisibleRegion());
+        visibilityTracker.start();
+    }
+
+    /**
+     * Update the visible part of frames by the current visible bounds of the destination, only for the FX thread.
+     */
+    protected void updateVisibleRegion() {
+
+        // the hidden destination keeps the last visible part
+        var region = visibleRegion;
+
+        if (!isRegionTracking() || !hasDestination() || visibilityTracker == null) {
+            region = null;
+        } else if (visibilityTracker.getVisibleBounds() != null) {
+            region = computeVisibleRegion(notNull(visibilityTracker.getVisibleBounds()));
+        }
+
+        if (Objects.equals(region, visibleRegion)) {
+            return;
+        }
+
+        visibleRegion = region;
+
+        // newly visible parts should be read even if the view port is static
+        markDirty();
+    }
+
+    /**
+     * Compute the visible part of frames by the visible bounds of the destination, only for the FX thread.
+     *
+     * @param sceneBounds the bounds of the visible part of the destination in the scene.
+     * @return the visible part in fractions of the size of frames or null if frames are visible whole.
+     */
+    protected @Nullable Rectangle2D computeVisibleRegion(@NotNull Bounds sceneBounds) {
+
+        var destination = getDestination();
+        var layout = destination.getLayoutBounds();
+        var local = destination.sceneToLocal(sceneBounds);
+
+        if (local == null || layout.getWidth() <= 0 || layout.getHeight() <= 0) {
+            return null;
+        }
+
+        // local coordinates are before flipping of the destination, so they are in the same order as rows of frames
+        var source = getSourceRegion();
+        var scaleX = source.getWidth() / layout.getWidth();
+        var scaleY = source.getHeight() / layout.getHeight();
+        var minX = clamp(source.getMinX() + (local.getMinX() - layout.getMinX()) * scaleX);
+        var minY = clamp(source.getMinY() + (local.getMinY() - layout.getMinY()) * scaleY);
+        var maxX = clamp(source.getMinX() + (local.getMaxX() - layout.getMinX()) * scaleX);
+        var maxY = clamp(source.getMinY() + (local.getMaxY() - layout.getMinY()) * scaleY);
+
+        if (maxX <= minX || maxY <= minY) {
+            return null;
+        } else if (minX == 0 && minY == 0 && maxX == 1 && maxY == 1) {
+            return null;
+        }
+
+        return new Rectangle2D(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    private static double clamp(double fraction) {
+        return Math.max(0, Math.min(1, fraction));
+    }
+
+    /**
+     * Get the part of frames which is shown by the whole destination.
+     *
+     * @return the part of frames in fractions of the size of frames.
+     */
+    protected @NotNull Rectangle2D getSourceRegion() {
+        return new Rectangle2D(0, 0, 1, 1);
+    }
+
+    /**
+     * Notify about changing the visibility of the destination.
+     *
+     * @param visible true if the destination became visible.
+     */
+    protected void notifyVisibilityChanged(boolean visible) {
+
+        if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
+            LOGGER.debug(this, "the destination became " + (visible ? "visible" : "invisible"));
+        }
+
+        destinationVisible = visible;
+
+        if (!visible) {
+            return;
+        }
+
+        markDirty();
+
+        // the disabled view port doesn't call this processor, so it should be enabled from outside
+        if (hasApplication()) {
+            getApplication().enqueue(this::resumeRendering);
+        }
+    }
+
+    /**
+     * Enable the view port if it was disabled by this processor, only for the render thread.
+     */
+    protected void resumeRendering() {
+
+        if (renderSuspended && viewPort != null) {
+            viewPort.setEnabled(true);
+        }
+
+        renderSuspended = false;
     }
 
     /**
@@ -402,7 +695,17 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
      */
     public void unbind() {
 
+        if (hasApplication()) {
+            getApplication().getStateManager().detach(changeTrackingState);
+        }
+
         if (viewPort != null) {
+
+            if (renderSuspended) {
+                viewPort.setEnabled(true);
+                renderSuspended = false;
+            }
+
             viewPort.removeProcessor(this);
             viewPort = null;
         }
@@ -437,6 +740,14 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
      * Unbind all listeners from destination.
      */
     protected void unbindListeners() {
+
+        if (visibilityTracker != null) {
+            visibilityTracker.stop();
+            visibilityTracker = null;
+        }
+
+        destinationVisible = true;
+        visibleRegion = null;
     }
 
     @Override
@@ -475,6 +786,23 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
         var frameBuffer = viewPort.getOutputFrameBuffer();
 
         var frameTransfer = createFrameTransfer(frameBuffer, width, height);
+        var frameRecorder = getFrameRecorder();
+
+        if (frameRecorder != null) {
+            frameTransfer = new RecordingFrameTransfer(frameTransfer, frameRecorder);
+        }
+
+        frameTransfer.setReadbackLatency(getReadbackLatency());
+        frameTransfer.setParallelProcessing(isParallelProcessing());
+
+        if (isGpuConversion()) {
+            frameTransfer.enableGpuConversion(getApplication().getAssetManager());
+        }
+
+        if (atlasRegion != null) {
+            frameTransfer.setAtlasRegion(atlasRegion);
+        }
+
         frameTransfer.initFor(renderManager.getRenderer(), isMain());
 
         if (isMain()) {
@@ -513,7 +841,9 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
         var viewPort = getViewPort();
         var camera = viewPort.getCamera();
         var cameraAngle = getCameraAngle();
-        var aspect = (float) camera.getWidth() / camera.getHeight();
+
+        // the camera has the size of the atlas if the previous layout was atlas based
+        var aspect = atlasRegion != null ? (float) width / height : (float) camera.getWidth() / camera.getHeight();
 
         if (isMain()) {
             getRenderManager().notifyReshape(width, height);
@@ -521,22 +851,45 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
             return;
         }
 
-        camera.resize(width, height, true);
-        camera.setFrustumPerspective(cameraAngle, aspect, 1f, 10000);
-
         var processors = viewPort.getProcessors();
         var any = processors.stream()
                 .filter(sceneProcessor -> !(sceneProcessor instanceof FrameTransferSceneProcessor))
                 .findAny();
 
-        if (!any.isPresent()) {
+        releaseAtlasRegion();
+
+        var frameAtlas = getFrameAtlas();
+
+        // filters need their own frame buffer and converted frames can't be split
+        if (frameAtlas != null && !any.isPresent() && !isGpuConversion()) {
+            atlasRegion = frameAtlas.allocate(width, height);
+        }
+
+        if (atlasRegion != null) {
+
+            var atlasWidth = (float) frameAtlas.getWidth();
+            var atlasHeight = (float) frameAtlas.getHeight();
+            var left = atlasRegion.getX() / atlasWidth;
+            var bottom = atlasRegion.getY() / atlasHeight;
+
+            camera.resize(frameAtlas.getWidth(), frameAtlas.getHeight(), false);
+            camera.setViewPort(left, left + width / atlasWidth, bottom, bottom + height / atlasHeight);
+            camera.setFrustumPerspective(cameraAngle, (float) width / height, 1f, 10000);
+
+            releaseOutputFrameBuffer();
+            viewPort.setOutputFrameBuffer(frameAtlas.getFrameBuffer());
+            return;
+        }
 
-            var frameBuffer = new FrameBuffer(width, height, 1);
-            frameBuffer.setDepthBuffer(Image.Format.Depth);
-            frameBuffer.setColorBuffer(Image.Format.RGBA8);
-            frameBuffer.setSrgb(true);
+        camera.setViewPort(0f, 1f, 0f, 1f);
+        camera.resize(width, height, true);
+        camera.setFrustumPerspective(cameraAngle, aspect, 1f, 10000);
 
-            viewPort.setOutputFrameBuffer(frameBuffer);
+        if (!any.isPresent()) {
+            var resourcePool = FrameResourcePool.getInstance();
+            viewPort.setOutputFrameBuffer(resourcePool.takeFrameBuffer(width, height));
+            releaseOutputFrameBuffer();
+            outputFrameBuffer = viewPort.getOutputFrameBuffer();
         }
 
         for (var sceneProcessor : processors) {
@@ -574,7 +927,39 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
 
     @Override
     public void preFrame(float tpf) {
+        frameStartTime = System.nanoTime();
+    }
+
+    /**
+     * Check of reading the frame which is going to be rendered, is called before any view port is rendered because
+     * uploading of meshes and textures clears their pending updates.
+     *
+     * @param renderManager the render manager.
+     * @return true if the frame should be read.
+     */
+    protected boolean isFrameReadNeeded(@NotNull RenderManager renderManager) {
+
+        if (!isChangeTracking() || getTransferMode() != TransferMode.ON_CHANGES || viewPort == null) {
+            return true;
+        }
+
+        // the frame buffer of the main processor contains all rendered view ports
+        var viewPorts = isMain() ? getAllViewPorts(renderManager) : List.of(viewPort);
 
+        return changeTracker.update(viewPorts, getReadbackLatency());
+    }
+
+    /**
+     * Get all view ports of the render manager in the order of rendering.
+     *
+     * @param renderManager the render manager.
+     * @return the list of view ports.
+     */
+    protected @NotNull List<ViewPort> getAllViewPorts(@NotNull RenderManager renderManager) {
+        var viewPorts = new ArrayList<ViewPort>(renderManager.getPreViews());
+        viewPorts.addAll(renderManager.getMainViews());
+        viewPorts.addAll(renderManager.getPostViews());
+        return viewPorts;
     }
 
     @Override
@@ -589,31 +974,196 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
             return;
         }
 
+        if (!pendingDisposals.isEmpty()) {
+            pendingDisposals.removeIf(FrameTransfer::completeDispose);
+        }
+
+        var visible = isDestinationVisible();
+
+        if (!visible && isRenderSuspension() && !isMain() && viewPort != null) {
+            viewPort.setEnabled(false);
+            renderSuspended = true;
+        }
+
         var frameTransfer = getFrameTransfer();
-        if (frameTransfer != null) {
+        if (frameTransfer != null && frameReadNeeded && visible) {
+            applyVisibleRegion(frameTransfer);
             frameTransfer.copyFrameBufferToImage(getRenderManager());
+
+            // the frames after the last change are read until the last of them is delivered
+            if (frameTransfer.isReadSkipped()) {
+                changeTracker.notifyReadSkipped();
+            }
+        }
+
+        if (frameTransfer != null && visible && isRenderScaleSupported()) {
+
+            var frameTime = System.nanoTime() - frameStartTime + frameTransfer.getWriteTime();
+
+            scaleController.setBudget(getFrameTimeBudget());
+
+            if (scaleController.update(frameTime, !frameReadNeeded)) {
+                reshape();
+            }
+        }
+
+        // the first transfer is created without waiting for the settled size
+        if (hasDestination() && resizeCoordinator.apply(frameTransfer == null)) {
+            reshape();
         }
 
         // for the next frame
-        if (hasDestination() && reshapeNeeded.get() > 0 && reshapeNeeded.decrementAndGet() >= 0) {
+        if (hasDestination() && reshapeNeeded.getAndSet(false)) {
 
             if (frameTransfer != null) {
-                frameTransfer.dispose();
+                disposeFrameTransfer(frameTransfer);
+            }
+
+            var scale = isRenderScaleSupported() ? scaleController.getScale() : 1F;
+            var width = Math.max(1, Math.round(resizeCoordinator.getAppliedWidth() * scale));
+            var height = Math.max(1, Math.round(resizeCoordinator.getAppliedHeight() * scale));
+
+            setFrameTransfer(reshapeInThread(width, height, resizeCoordinator.isAppliedFixAspect()));
+            updateRenderScale(scale);
+            markDirty();
+
+            if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
+                var resourcePool = FrameResourcePool.getInstance();
+                LOGGER.debug(this, "frame resource pool: " + resourcePool.getHits() + " hits, " +
+                        resourcePool.getMisses() + " misses, " + resourcePool.getRetainedBytes() + " bytes retained");
             }
+        }
+    }
 
-            setFrameTransfer(reshapeInThread(askWidth, askHeight, askFixAspect));
+    /**
+     * Check of supporting rendering in a size which differs from the destination's size, the destination should
+     * scale rendered frames to its size.
+     *
+     * @return true if the render scale is supported.
+     */
+    protected boolean isRenderScaleSupported() {
+        return false;
+    }
+
+    /**
+     * Update the current render scale.
+     *
+     * @param renderScale the new render scale.
+     */
+    protected void updateRenderScale(float renderScale) {
+        this.renderScale = renderScale;
+
+        if (isMain()) {
+            var context = (JmeOffscreenSurfaceContext) getApplication().getContext();
+            context.setRenderScale(renderScale);
         }
     }
 
+    /**
+     * Apply the current visible part of frames to the frame transfer, only for the render thread.
+     *
+     * @param frameTransfer the frame transfer.
+     */
+    protected void applyVisibleRegion(@NotNull FrameTransfer frameTransfer) {
+
+        var region = visibleRegion;
+
+        if (region == null) {
+            frameTransfer.setVisibleRegion(0F, 0F, 1F, 1F);
+        } else {
+            frameTransfer.setVisibleRegion((float) region.getMinX(), (float) region.getMinY(),
+                    (float) region.getMaxX(), (float) region.getMaxY());
+        }
+    }
+
+    /**
+     * Release the output frame buffer which was set to the view port by this processor.
+     */
+    protected void releaseOutputFrameBuffer() {
+
+        if (outputFrameBuffer == null) {
+            return;
+        }
+
+        if (viewPort != null && viewPort.getOutputFrameBuffer() == outputFrameBuffer) {
+            viewPort.setOutputFrameBuffer(null);
+        }
+
+        FrameResourcePool.getInstance().release(outputFrameBuffer);
+        outputFrameBuffer = null;
+    }
+
+    /**
+     * Release the region of the frame atlas which was used by the view port.
+     */
+    protected void releaseAtlasRegion() {
+
+        if (atlasRegion == null) {
+            return;
+        }
+
+        var atlas = atlasRegion.getAtlas();
+
+        if (viewPort != null && viewPort.getOutputFrameBuffer() == atlas.getFrameBuffer()) {
+            viewPort.setOutputFrameBuffer(null);
+        }
+
+        atlas.release(atlasRegion);
+        atlasRegion = null;
+    }
+
     @Override
     public void cleanup() {
 
         var frameTransfer = getFrameTransfer();
 
         if (frameTransfer != null) {
-            frameTransfer.dispose();
+            disposeFrameTransfer(frameTransfer);
             setFrameTransfer(null);
         }
+
+        releaseOutputFrameBuffer();
+        releaseAtlasRegion();
+
+        // there are no next frames to complete disposing
+        for (var pending : pendingDisposals) {
+            if (!pending.awaitDispose(getDisposeTimeout(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warning(this, "the frame transfer " + pending + " wasn't released by the FX thread in time.");
+            }
+        }
+
+        pendingDisposals.clear();
+    }
+
+    /**
+     * Dispose the frame transfer without blocking, its resources which are in use by the FX thread are released
+     * in the next frames.
+     *
+     * @param frameTransfer the frame transfer.
+     */
+    protected void disposeFrameTransfer(@NotNull FrameTransfer frameTransfer) {
+        frameTransfer.dispose();
+        droppedFrames += frameTransfer.getDroppedFrames();
+
+        if (!frameTransfer.completeDispose()) {
+            pendingDisposals.add(frameTransfer);
+        }
+    }
+
+    /**
+     * Gets the max time in ms to wait for releasing frame transfers by the FX thread on cleanup.
+     *
+     * @return the timeout in ms.
+     */
+    protected long getDisposeTimeout() {
+        var timeout = System.getProperty("jfx.frame.transfer.dispose.timeout", "500");
+        return Long.parseLong(timeout);
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        var frameTransfer = getFrameTransfer();
+        return droppedFrames + (frameTransfer == null ? 0 : frameTransfer.getDroppedFrames());
     }
 
     @Override
@@ -629,4 +1179,190 @@ public abstract class AbstractFrameTransferSceneProcessor<T extends Node> implem
     public void setTransferMode(@NotNull TransferMode transferMode) {
         this.transferMode = transferMode;
     }
+
+    @Override
+    public int getReadbackLatency() {
+        return readbackLatency;
+    }
+
+    @Override
+    public void setReadbackLatency(int readbackLatency) {
+
+        readbackLatency = Math.max(0, readbackLatency);
+
+        if (this.readbackLatency == readbackLatency) {
+            return;
+        }
+
+        this.readbackLatency = readbackLatency;
+        reshape();
+    }
+
+    @Override
+    public boolean isGpuConversion() {
+        return gpuConversion;
+    }
+
+    @Override
+    public void setGpuConversion(boolean gpuConversion) {
+
+        if (this.gpuConversion == gpuConversion) {
+            return;
+        }
+
+        this.gpuConversion = gpuConversion;
+
+        JfxPlatform.runInFxThread(() -> {
+            if (hasDestination()) {
+                updateOrientation(getDestination());
+            }
+        });
+
+        reshape();
+    }
+
+    @Override
+    public boolean isParallelProcessing() {
+        return parallelProcessing;
+    }
+
+    @Override
+    public void setParallelProcessing(boolean parallelProcessing) {
+        this.parallelProcessing = parallelProcessing;
+
+        var frameTransfer = getFrameTransfer();
+
+        if (frameTransfer != null) {
+            frameTransfer.setParallelProcessing(parallelProcessing);
+        }
+    }
+
+    @Override
+    public long getResizeQuietPeriod() {
+        return resizeCoordinator.getQuietPeriod();
+    }
+
+    @Override
+    public void setResizeQuietPeriod(long resizeQuietPeriod) {
+        resizeCoordinator.setQuietPeriod(resizeQuietPeriod);
+    }
+
+    @Override
+    public float getFrameTimeBudget() {
+        return frameTimeBudget;
+    }
+
+    @Override
+    public void setFrameTimeBudget(float frameTimeBudget) {
+
+        frameTimeBudget = Math.max(0, frameTimeBudget);
+
+        if (this.frameTimeBudget == frameTimeBudget) {
+            return;
+        }
+
+        this.frameTimeBudget = frameTimeBudget;
+
+        if (renderScale != 1F) {
+            reshape();
+        }
+    }
+
+    @Override
+    public float getRenderScale() {
+        return renderScale;
+    }
+
+    @Override
+    public boolean isVisibilityTracking() {
+        return visibilityTracking;
+    }
+
+    @Override
+    public void setVisibilityTracking(boolean visibilityTracking) {
+        this.visibilityTracking = visibilityTracking;
+        markDirty();
+
+        if (!visibilityTracking && hasApplication()) {
+            getApplication().enqueue(this::resumeRendering);
+        }
+    }
+
+    @Override
+    public boolean isRenderSuspension() {
+        return renderSuspension;
+    }
+
+    @Override
+    public void setRenderSuspension(boolean renderSuspension) {
+        this.renderSuspension = renderSuspension;
+
+        if (!renderSuspension && hasApplication()) {
+            getApplication().enqueue(this::resumeRendering);
+        }
+    }
+
+    @Override
+    public @Nullable FrameRecorder getFrameRecorder() {
+        return frameRecorder;
+    }
+
+    @Override
+    public void setFrameRecorder(@Nullable FrameRecorder frameRecorder) {
+
+        if (this.frameRecorder == frameRecorder) {
+            return;
+        }
+
+        this.frameRecorder = frameRecorder;
+        reshape();
+    }
+
+    @Override
+    public boolean isRegionTracking() {
+        return regionTracking;
+    }
+
+    @Override
+    public void setRegionTracking(boolean regionTracking) {
+        this.regionTracking = regionTracking;
+        JfxPlatform.runInFxThread(this::updateVisibleRegion);
+    }
+
+    @Override
+    public @Nullable FrameAtlas getFrameAtlas() {
+        return frameAtlas;
+    }
+
+    @Override
+    public void setFrameAtlas(@Nullable FrameAtlas frameAtlas) {
+
+        if (this.frameAtlas == frameAtlas) {
+            return;
+        }
+
+        this.frameAtlas = frameAtlas;
+        reshape();
+    }
+
+    @Override
+    public boolean isDestinationVisible() {
+        return !isVisibilityTracking() || destinationVisible;
+    }
+
+    @Override
+    public boolean isChangeTracking() {
+        return changeTracking;
+    }
+
+    @Override
+    public void setChangeTracking(boolean changeTracking) {
+        this.changeTracking = changeTracking;
+        markDirty();
+    }
+
+    @Override
+    public void markDirty() {
+        changeTracker.markDirty();
+    }
 }
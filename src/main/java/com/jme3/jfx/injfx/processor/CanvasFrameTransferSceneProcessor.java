@@ -1,11 +1,10 @@
 package com.jme3.jfx.injfx.processor;
 
-import com.jme3.jfx.injfx.JmeToJfxApplication;
 import com.jme3.jfx.injfx.transfer.FrameTransfer;
 import com.jme3.jfx.injfx.transfer.impl.CanvasFrameTransfer;
+import com.jme3.jfx.injfx.transfer.impl.RecordingFrameTransfer;
 import com.jme3.post.SceneProcessor;
 import com.jme3.texture.FrameBuffer;
-import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,6 +15,41 @@ import org.jetbrains.annotations.NotNull;
  */
 public class CanvasFrameTransferSceneProcessor extends AbstractFrameTransferSceneProcessor<Canvas> {
 
+    /**
+     * The flag of writing frames to an internal image which is drawn to the canvas.
+     */
+    private volatile boolean imageBacked;
+
+    public CanvasFrameTransferSceneProcessor() {
+        this.imageBacked = true;
+    }
+
+    /**
+     * Check of writing frames to an internal image which is drawn to the canvas.
+     *
+     * @return true if frames are written to an internal image.
+     */
+    public boolean isImageBacked() {
+        return imageBacked;
+    }
+
+    /**
+     * Set to write frames to an internal image which is drawn to the canvas by one command per frame, otherwise
+     * frames are written by the pixel writer of the canvas and are accumulated in its command buffer until
+     * the next pulse.
+     *
+     * @param imageBacked true if frames should be written to an internal image.
+     */
+    public void setImageBacked(boolean imageBacked) {
+
+        if (this.imageBacked == imageBacked) {
+            return;
+        }
+
+        this.imageBacked = imageBacked;
+        reshape();
+    }
+
     @Override
     protected int getDestinationWidth() {
         return (int) getDestination().getWidth();
@@ -32,13 +66,24 @@ public class CanvasFrameTransferSceneProcessor extends AbstractFrameTransferScen
     }
 
     @Override
-    protected void bindDestination(
-            @NotNull JmeToJfxApplication application,
-            @NotNull Canvas destination,
-            @NotNull Node inputNode
-    ) {
-        super.bindDestination(application, destination, inputNode);
-        destination.setScaleY(-1.0);
+    protected boolean isRenderScaleSupported() {
+        return isImageBacked();
+    }
+
+    @Override
+    protected void notifyComponentResized(int newWidth, int newHeight, boolean fixAspect) {
+        super.notifyComponentResized(newWidth, newHeight, fixAspect);
+
+        // the last frame is scaled to the new size until the transfer is rebuilt
+        var frameTransfer = getFrameTransfer();
+
+        if (frameTransfer instanceof RecordingFrameTransfer) {
+            frameTransfer = ((RecordingFrameTransfer) frameTransfer).getDelegate();
+        }
+
+        if (frameTransfer instanceof CanvasFrameTransfer) {
+            ((CanvasFrameTransfer) frameTransfer).redraw();
+        }
     }
 
     @Override
@@ -59,6 +104,13 @@ public class CanvasFrameTransferSceneProcessor extends AbstractFrameTransferScen
 
     @Override
     protected @NotNull FrameTransfer createFrameTransfer(@NotNull FrameBuffer frameBuffer, int width, int height) {
-        return new CanvasFrameTransfer(getDestination(), getTransferMode(), isMain() ? null : frameBuffer, width, height);
+        return new CanvasFrameTransfer(
+                getDestination(),
+                getTransferMode(),
+                isMain() ? null : frameBuffer,
+                width,
+                height,
+                isImageBacked()
+        );
     }
 }
\ No newline at end of file
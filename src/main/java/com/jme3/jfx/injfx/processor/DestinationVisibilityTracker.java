@@ -0,0 +1,261 @@
+package com.jme3.jfx.injfx.processor;
+
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * The tracker of visibility of a destination node, works only in the FX thread.
+ * <p>
+ * The node is visible when it and all its parents are visible, it's in a showing and not iconified window and its
+ * bounds aren't clipped out by clips of parents (e.g. a scroll pane) and the scene. The visibility and the visible
+ * bounds are checked after every layout pulse of the scene and when the window is changed.
+ *
+ * @author JavaSaBr
+ */
+public class DestinationVisibilityTracker {
+
+    /**
+     * The destination node.
+     */
+    @NotNull
+    private final Node node;
+
+    /**
+     * The handler of changes of the visibility.
+     */
+    @NotNull
+    private final Consumer<Boolean> handler;
+
+    /**
+     * The handler of changes of the visible bounds or null.
+     */
+    @Nullable
+    private Consumer<Bounds> boundsHandler;
+
+    /**
+     * The listener of layout pulses.
+     */
+    @NotNull
+    private final Runnable pulseListener;
+
+    /**
+     * The listener of changes of the node's scene.
+     */
+    @NotNull
+    private final ChangeListener<Scene> sceneListener;
+
+    /**
+     * The listener of changes of the scene's window.
+     */
+    @NotNull
+    private final ChangeListener<Window> windowListener;
+
+    /**
+     * The listener of changes of the window's state.
+     */
+    @NotNull
+    private final ChangeListener<Boolean> windowStateListener;
+
+    /**
+     * The current scene.
+     */
+    @Nullable
+    private Scene scene;
+
+    /**
+     * The current window.
+     */
+    @Nullable
+    private Window window;
+
+    /**
+     * The bounds of the visible part of the node in the scene or null.
+     */
+    @Nullable
+    private Bounds visibleBounds;
+
+    /**
+     * The current visibility.
+     */
+    private boolean visible;
+
+    /**
+     * The flag of tracking.
+     */
+    private boolean started;
+
+    public DestinationVisibilityTracker(@NotNull Node node, @NotNull Consumer<Boolean> handler) {
+        this.node = node;
+        this.handler = handler;
+        this.pulseListener = this::update;
+        this.sceneListener = (observable, oldValue, newValue) -> attachScene(newValue);
+        this.windowListener = (observable, oldValue, newValue) -> attachWindow(newValue);
+        this.windowStateListener = (observable, oldValue, newValue) -> update();
+        this.visible = true;
+    }
+
+    /**
+     * Set the handler of changes of the bounds of the visible part of the node in the scene, the handler is
+     * notified only while the node is visible.
+     *
+     * @param boundsHandler the handler or null.
+     */
+    public void setBoundsHandler(@Nullable Consumer<Bounds> boundsHandler) {
+        this.boundsHandler = boundsHandler;
+    }
+
+    /**
+     * Get the bounds of the visible part of the node in the scene on the last check.
+     *
+     * @return the bounds or null if the node wasn't visible.
+     */
+    public @Nullable Bounds getVisibleBounds() {
+        return visibleBounds;
+    }
+
+    /**
+     * Start tracking.
+     */
+    public void start() {
+        started = true;
+        node.sceneProperty().addListener(sceneListener);
+        attachScene(node.getScene());
+    }
+
+    /**
+     * Stop tracking.
+     */
+    public void stop() {
+        started = false;
+        node.sceneProperty().removeListener(sceneListener);
+        attachScene(null);
+    }
+
+    /**
+     * Check the current visibility.
+     *
+     * @return true if the node was visible on the last check.
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    private void attachScene(@Nullable Scene scene) {
+
+        if (this.scene != null) {
+            this.scene.removePostLayoutPulseListener(pulseListener);
+            this.scene.windowProperty().removeListener(windowListener);
+        }
+
+        this.scene = scene;
+
+        if (scene != null) {
+            scene.addPostLayoutPulseListener(pulseListener);
+            scene.windowProperty().addListener(windowListener);
+        }
+
+        attachWindow(scene == null ? null : scene.getWindow());
+    }
+
+    private void attachWindow(@Nullable Window window) {
+
+        if (this.window != null) {
+            this.window.showingProperty().removeListener(windowStateListener);
+            if (this.window instanceof Stage) {
+                ((Stage) this.window).iconifiedProperty().removeListener(windowStateListener);
+            }
+        }
+
+        this.window = window;
+
+        if (window != null) {
+            window.showingProperty().addListener(windowStateListener);
+            if (window instanceof Stage) {
+                ((Stage) window).iconifiedProperty().addListener(windowStateListener);
+            }
+        }
+
+        update();
+    }
+
+    /**
+     * Check the visibility and notify the handler about its changes.
+     */
+    public void update() {
+
+        if (!started) {
+            return;
+        }
+
+        var newBounds = computeVisibleBounds();
+        var newVisible = newBounds != null;
+        var boundsChanged = newVisible && !newBounds.equals(visibleBounds);
+
+        visibleBounds = newBounds;
+
+        if (newVisible != visible) {
+            visible = newVisible;
+            handler.accept(newVisible);
+        }
+
+        if (boundsChanged && boundsHandler != null) {
+            boundsHandler.accept(newBounds);
+        }
+    }
+
+    private @Nullable Bounds computeVisibleBounds() {
+
+        var scene = this.scene;
+        var window = this.window;
+
+        if (scene == null || window == null || !window.isShowing()) {
+            return null;
+        } else if (window instanceof Stage && ((Stage) window).isIconified()) {
+            return null;
+        }
+
+        Bounds bounds = node.localToScene(node.getBoundsInLocal());
+
+        for (var current = node; current != null; current = current.getParent()) {
+
+            if (!current.isVisible() || current.getOpacity() <= 0) {
+                return null;
+            }
+
+            var clip = current.getClip();
+
+            if (clip != null) {
+                bounds = intersect(bounds, current.localToScene(clip.getBoundsInParent()));
+            }
+
+            if (bounds == null) {
+                return null;
+            }
+        }
+
+        return intersect(bounds, new BoundingBox(0, 0, scene.getWidth(), scene.getHeight()));
+    }
+
+    private static @Nullable Bounds intersect(@NotNull Bounds first, @NotNull Bounds second) {
+
+        var minX = Math.max(first.getMinX(), second.getMinX());
+        var minY = Math.max(first.getMinY(), second.getMinY());
+        var maxX = Math.min(first.getMaxX(), second.getMaxX());
+        var maxY = Math.min(first.getMaxY(), second.getMaxY());
+
+        if (maxX <= minX || maxY <= minY) {
+            return null;
+        }
+
+        return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+    }
+}
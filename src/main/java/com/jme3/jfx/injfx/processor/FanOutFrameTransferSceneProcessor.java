@@ -0,0 +1,239 @@
+package com.jme3.jfx.injfx.processor;
+
+import com.jme3.jfx.injfx.transfer.FrameTransfer;
+import com.jme3.post.SceneProcessor;
+import com.jme3.texture.FrameBuffer;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The implementation of the {@link SceneProcessor} for transferring content of one view port to several JavaFX
+ * destinations by one reading of frames.
+ * <p>
+ * Frames are read and converted once for the main ImageView which defines the size of frames, the image of
+ * the main ImageView is shared with additional ImageView and Canvas destinations. Additional ImageViews scale
+ * the shared image by their fit sizes, additional Canvases draw it after every written frame and scale it only if
+ * their sizes differ from the size of frames. Frames are transferred while any destination is visible.
+ *
+ * @author JavaSaBr
+ */
+public class FanOutFrameTransferSceneProcessor extends ImageViewFrameTransferSceneProcessor {
+
+    /**
+     * The additional destinations with their visibility trackers, only for the FX thread.
+     */
+    @NotNull
+    private final Map<Node, DestinationVisibilityTracker> mirrors;
+
+    /**
+     * The listener of resizing additional Canvases.
+     */
+    @NotNull
+    private final ChangeListener<? super Number> canvasSizeListener;
+
+    /**
+     * The visibility of the main destination, only for the FX thread.
+     */
+    private boolean mainVisible;
+
+    /**
+     * The flag of bound listeners, only for the FX thread.
+     */
+    private boolean listenersBound;
+
+    public FanOutFrameTransferSceneProcessor() {
+        this.mirrors = new LinkedHashMap<>();
+        this.canvasSizeListener = (observable, oldValue, newValue) -> presentFrame();
+        this.mainVisible = true;
+    }
+
+    /**
+     * Add the destination which should show the same frames, only for the FX thread.
+     *
+     * @param destination the ImageView or Canvas.
+     */
+    public void addDestination(@NotNull Node destination) {
+
+        if (!Platform.isFxApplicationThread()) {
+            throw new RuntimeException("this call is not from JavaFX thread.");
+        } else if (!(destination instanceof ImageView) && !(destination instanceof Canvas)) {
+            throw new IllegalArgumentException("the destination " + destination + " isn't an ImageView or Canvas.");
+        } else if (mirrors.containsKey(destination)) {
+            return;
+        }
+
+        var tracker = new DestinationVisibilityTracker(destination, visible -> notifyMirrorsChanged());
+
+        mirrors.put(destination, tracker);
+
+        if (destination instanceof Canvas) {
+            var canvas = (Canvas) destination;
+            canvas.widthProperty().addListener(canvasSizeListener);
+            canvas.heightProperty().addListener(canvasSizeListener);
+        }
+
+        if (listenersBound) {
+            tracker.start();
+        }
+
+        if (hasDestination()) {
+            destination.setScaleY(getDestination().getScaleY());
+            presentFrame();
+        }
+
+        notifyMirrorsChanged();
+        updateVisibleRegion();
+    }
+
+    /**
+     * Remove the additional destination, only for the FX thread.
+     *
+     * @param destination the ImageView or Canvas.
+     */
+    public void removeDestination(@NotNull Node destination) {
+
+        if (!Platform.isFxApplicationThread()) {
+            throw new RuntimeException("this call is not from JavaFX thread.");
+        }
+
+        var tracker = mirrors.remove(destination);
+
+        if (tracker == null) {
+            return;
+        }
+
+        tracker.stop();
+
+        if (destination instanceof Canvas) {
+            var canvas = (Canvas) destination;
+            canvas.widthProperty().removeListener(canvasSizeListener);
+            canvas.heightProperty().removeListener(canvasSizeListener);
+        }
+
+        notifyMirrorsChanged();
+        updateVisibleRegion();
+    }
+
+    @Override
+    protected void bindListeners() {
+        listenersBound = true;
+        mirrors.values().forEach(DestinationVisibilityTracker::start);
+        super.bindListeners();
+    }
+
+    @Override
+    protected void unbindListeners() {
+        listenersBound = false;
+        mainVisible = true;
+        mirrors.values().forEach(DestinationVisibilityTracker::stop);
+        super.unbindListeners();
+    }
+
+    @Override
+    protected void notifyVisibilityChanged(boolean visible) {
+        mainVisible = visible;
+        super.notifyVisibilityChanged(isAnyDestinationVisible());
+    }
+
+    /**
+     * Handle changing of the set or visibility of additional destinations.
+     */
+    private void notifyMirrorsChanged() {
+
+        if (listenersBound) {
+            super.notifyVisibilityChanged(isAnyDestinationVisible());
+        }
+    }
+
+    private boolean isAnyDestinationVisible() {
+
+        if (mainVisible) {
+            return true;
+        }
+
+        for (var tracker : mirrors.values()) {
+            if (tracker.isVisible()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    protected @Nullable Rectangle2D computeVisibleRegion(@NotNull Bounds sceneBounds) {
+
+        // additional destinations show the whole shared image
+        if (!mirrors.isEmpty()) {
+            return null;
+        }
+
+        return super.computeVisibleRegion(sceneBounds);
+    }
+
+    @Override
+    protected void updateOrientation(@NotNull ImageView destination) {
+        super.updateOrientation(destination);
+        mirrors.keySet().forEach(mirror -> mirror.setScaleY(destination.getScaleY()));
+    }
+
+    @Override
+    protected @NotNull FrameTransfer createFrameTransfer(@NotNull FrameBuffer frameBuffer, int width, int height) {
+        var frameTransfer = super.createFrameTransfer(frameBuffer, width, height);
+        frameTransfer.setWriteListener(this::presentFrame);
+        return frameTransfer;
+    }
+
+    /**
+     * Present the current image of the main destination in additional destinations, only for the FX thread.
+     */
+    protected void presentFrame() {
+
+        var image = hasDestination() ? getDestination().getImage() : null;
+
+        for (var mirror : mirrors.keySet()) {
+            if (mirror instanceof ImageView) {
+                presentFrame((ImageView) mirror, image);
+            } else {
+                presentFrame((Canvas) mirror, image);
+            }
+        }
+    }
+
+    private void presentFrame(@NotNull ImageView imageView, @Nullable Image image) {
+        if (imageView.getImage() != image) {
+            imageView.setImage(image);
+        }
+    }
+
+    private void presentFrame(@NotNull Canvas canvas, @Nullable Image image) {
+
+        var width = canvas.getWidth();
+        var height = canvas.getHeight();
+        var graphics = canvas.getGraphicsContext2D();
+
+        // clearing of the whole canvas resets its command buffer
+        graphics.clearRect(0, 0, width, height);
+
+        if (image == null) {
+            return;
+        }
+
+        if (image.getWidth() == width && image.getHeight() == height) {
+            graphics.drawImage(image, 0, 0);
+        } else {
+            graphics.drawImage(image, 0, 0, width, height);
+        }
+    }
+}
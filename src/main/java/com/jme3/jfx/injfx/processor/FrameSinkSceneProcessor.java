@@ -0,0 +1,393 @@
+package com.jme3.jfx.injfx.processor;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.app.Application;
+import com.jme3.jfx.injfx.JmeOffscreenSurfaceContext;
+import com.jme3.jfx.injfx.transfer.FrameSink;
+import com.jme3.jfx.injfx.transfer.FrameTransfer;
+import com.jme3.jfx.injfx.transfer.impl.FrameResourcePool;
+import com.jme3.jfx.injfx.transfer.impl.SinkFrameTransfer;
+import com.jme3.jfx.util.JfxPlatform;
+import com.jme3.post.SceneProcessor;
+import com.jme3.profile.AppProfiler;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.texture.FrameBuffer;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerLevel;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The implementation of the {@link SceneProcessor} for transferring content from jME to a {@link FrameSink} without
+ * JavaFX, e.g. to generate thumbnails, run automated checks or benchmark the pipeline on a server without a display
+ * by the {@link JmeOffscreenSurfaceContext}.
+ * <p>
+ * Frames are rendered in the size which is set by {@link #setSize(int, int)} and are handed over to the sink in
+ * the render thread.
+ *
+ * @author JavaSaBr
+ */
+public class FrameSinkSceneProcessor implements SceneProcessor {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(JfxPlatform.class);
+
+    /**
+     * The sink of frames.
+     */
+    @NotNull
+    private final FrameSink sink;
+
+    /**
+     * The flag of reshaping the frame transfer in the next frame.
+     */
+    @NotNull
+    private final AtomicBoolean reshapeNeeded;
+
+    /**
+     * The application.
+     */
+    @Nullable
+    private volatile Application application;
+
+    /**
+     * The view port.
+     */
+    @Nullable
+    private ViewPort viewPort;
+
+    /**
+     * The render manager.
+     */
+    @Nullable
+    private RenderManager renderManager;
+
+    /**
+     * The frame transfer.
+     */
+    @Nullable
+    private volatile FrameTransfer frameTransfer;
+
+    /**
+     * The output frame buffer of the not main view port which was taken from the pool.
+     */
+    @Nullable
+    private FrameBuffer outputFrameBuffer;
+
+    /**
+     * How many frames the async reading of frames can be behind.
+     */
+    private volatile int readbackLatency;
+
+    /**
+     * The flag of converting frames on GPU.
+     */
+    private volatile boolean gpuConversion;
+
+    /**
+     * The flag of enabling this processor.
+     */
+    private volatile boolean enabled;
+
+    private volatile int width;
+    private volatile int height;
+
+    /**
+     * True if this processor is main.
+     */
+    private boolean main;
+
+    public FrameSinkSceneProcessor(@NotNull FrameSink sink, int width, int height) {
+        this.sink = sink;
+        this.reshapeNeeded = new AtomicBoolean(true);
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+        this.enabled = true;
+    }
+
+    /**
+     * Bind this processor, must be called in the render thread.
+     *
+     * @param application the application.
+     * @param viewPort    the view port.
+     * @param main        true if this processor renders the main frame buffer.
+     */
+    public void bind(@NotNull Application application, @NotNull ViewPort viewPort, boolean main) {
+
+        if (this.application != null) {
+            throw new RuntimeException("This process is already bonded.");
+        }
+
+        this.application = application;
+        this.main = main;
+        this.viewPort = viewPort;
+        this.viewPort.addProcessor(this);
+    }
+
+    /**
+     * Unbind this processor, must be called in the render thread.
+     */
+    public void unbind() {
+
+        if (viewPort != null) {
+            viewPort.removeProcessor(this);
+            viewPort = null;
+        }
+
+        application = null;
+    }
+
+    /**
+     * Gets the sink of frames.
+     *
+     * @return the sink of frames.
+     */
+    public @NotNull FrameSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Gets the current frame transfer.
+     *
+     * @return the current frame transfer or null.
+     */
+    public @Nullable FrameTransfer getFrameTransfer() {
+        return frameTransfer;
+    }
+
+    /**
+     * Set the size of rendered frames, frames are rendered in the new size from the next frame.
+     *
+     * @param width  the width.
+     * @param height the height.
+     */
+    public void setSize(int width, int height) {
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+        reshapeNeeded.set(true);
+    }
+
+    /**
+     * Gets the width of rendered frames.
+     *
+     * @return the width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of rendered frames.
+     *
+     * @return the height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get how many frames the async reading of frames can be behind.
+     *
+     * @return the count of frames or 0 if frames are read synchronously.
+     */
+    public int getReadbackLatency() {
+        return readbackLatency;
+    }
+
+    /**
+     * Set how many frames the async reading of frames can be behind.
+     *
+     * @param readbackLatency the count of frames or 0 to read frames synchronously.
+     */
+    public void setReadbackLatency(int readbackLatency) {
+        this.readbackLatency = Math.max(0, readbackLatency);
+        reshapeNeeded.set(true);
+    }
+
+    /**
+     * Check of converting frames on GPU to {@link com.jme3.jfx.injfx.transfer.FrameFormat#BGRA_PRE} format.
+     *
+     * @return true if frames are converted on GPU.
+     */
+    public boolean isGpuConversion() {
+        return gpuConversion;
+    }
+
+    /**
+     * Set to convert frames on GPU to {@link com.jme3.jfx.injfx.transfer.FrameFormat#BGRA_PRE} format.
+     *
+     * @param gpuConversion true if frames should be converted on GPU.
+     */
+    public void setGpuConversion(boolean gpuConversion) {
+        this.gpuConversion = gpuConversion;
+        reshapeNeeded.set(true);
+    }
+
+    /**
+     * Check of enabling this processor.
+     *
+     * @return true if this processor is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set to enable this processor.
+     *
+     * @param enabled true if this processor should hand over frames to the sink.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void initialize(@NotNull RenderManager renderManager, @NotNull ViewPort viewPort) {
+        this.renderManager = renderManager;
+    }
+
+    @Override
+    public void reshape(@NotNull ViewPort viewPort, int w, int h) {
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return renderManager != null;
+    }
+
+    @Override
+    public void preFrame(float tpf) {
+    }
+
+    @Override
+    public void postQueue(@NotNull RenderQueue renderQueue) {
+    }
+
+    @Override
+    public void postFrame(@Nullable FrameBuffer out) {
+
+        var frameTransfer = this.frameTransfer;
+
+        if (!enabled) {
+            return;
+        }
+
+        if (frameTransfer != null) {
+            frameTransfer.copyFrameBufferToImage(notNull(renderManager));
+        }
+
+        // for the next frame, so the frame buffer isn't changed in the middle of a frame
+        if (reshapeNeeded.getAndSet(false)) {
+            reshapeInThread(width, height);
+        }
+    }
+
+    /**
+     * Rebuild the frame transfer in the new size.
+     *
+     * @param width  the width.
+     * @param height the height.
+     */
+    protected void reshapeInThread(int width, int height) {
+
+        if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
+            LOGGER.debug(this, "reshape the sink in the jME thread to " + width + "x" + height);
+        }
+
+        disposeFrameTransfer();
+
+        var renderManager = notNull(this.renderManager);
+        var viewPort = notNull(this.viewPort);
+        var application = notNull(this.application);
+        var camera = viewPort.getCamera();
+
+        SinkFrameTransfer frameTransfer;
+
+        if (main) {
+
+            if (application.getContext() instanceof JmeOffscreenSurfaceContext) {
+                var context = (JmeOffscreenSurfaceContext) application.getContext();
+                context.setWidth(width);
+                context.setHeight(height);
+            }
+
+            renderManager.notifyReshape(width, height);
+            frameTransfer = new SinkFrameTransfer(sink, width, height);
+
+        } else {
+
+            camera.resize(width, height, true);
+
+            releaseOutputFrameBuffer();
+            outputFrameBuffer = FrameResourcePool.getInstance().takeFrameBuffer(width, height);
+            viewPort.setOutputFrameBuffer(outputFrameBuffer);
+
+            for (var sceneProcessor : viewPort.getProcessors()) {
+                if (sceneProcessor != this && sceneProcessor.isInitialized()) {
+                    sceneProcessor.reshape(viewPort, width, height);
+                }
+            }
+
+            frameTransfer = new SinkFrameTransfer(sink, outputFrameBuffer, width, height);
+        }
+
+        frameTransfer.setReadbackLatency(readbackLatency);
+
+        if (gpuConversion) {
+            frameTransfer.enableGpuConversion(application.getAssetManager());
+        }
+
+        frameTransfer.initFor(renderManager.getRenderer(), main);
+
+        this.frameTransfer = frameTransfer;
+    }
+
+    private void disposeFrameTransfer() {
+
+        var frameTransfer = this.frameTransfer;
+
+        if (frameTransfer != null) {
+            frameTransfer.dispose();
+            this.frameTransfer = null;
+        }
+    }
+
+    private void releaseOutputFrameBuffer() {
+        if (outputFrameBuffer != null) {
+            FrameResourcePool.getInstance().release(outputFrameBuffer);
+            outputFrameBuffer = null;
+        }
+    }
+
+    @Override
+    public void cleanup() {
+
+        disposeFrameTransfer();
+
+        // the main frame buffer was returned to the pool
+        if (main && renderManager != null) {
+            renderManager.getRenderer().setMainFrameBufferOverride(null);
+        }
+
+        if (!main && viewPort != null && viewPort.getOutputFrameBuffer() == outputFrameBuffer) {
+            viewPort.setOutputFrameBuffer(null);
+        }
+
+        releaseOutputFrameBuffer();
+        reshapeNeeded.set(true);
+        renderManager = null;
+    }
+
+    @Override
+    public void setProfiler(@NotNull AppProfiler profiler) {
+    }
+
+    @Override
+    public String toString() {
+        return "FrameSinkSceneProcessor{sink=" + sink + ", width=" + width + ", height=" + height + "}";
+    }
+}
@@ -1,7 +1,10 @@
 package com.jme3.jfx.injfx.processor;
 
+import com.jme3.jfx.injfx.transfer.impl.FrameAtlas;
+import com.jme3.jfx.injfx.transfer.impl.FrameRecorder;
 import com.jme3.post.SceneProcessor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The interface for implementing frame transfer processor.
@@ -54,4 +57,241 @@ public interface FrameTransferSceneProcessor extends SceneProcessor {
      * @param transferMode the transfer mode.
      */
     void setTransferMode(@NotNull TransferMode transferMode);
+
+    /**
+     * Get how many frames the async reading of frames can be behind.
+     *
+     * @return the count of frames or 0 if frames are read synchronously.
+     */
+    default int getReadbackLatency() {
+        return 0;
+    }
+
+    /**
+     * Set how many frames the async reading of frames can be behind. The async reading uses pixel buffer objects
+     * and falls back to synchronous reading when they aren't supported.
+     *
+     * @param readbackLatency the count of frames (1 or 2) or 0 to read frames synchronously.
+     */
+    default void setReadbackLatency(int readbackLatency) {
+    }
+
+    /**
+     * Check of converting frames on GPU.
+     *
+     * @return true if frames are converted on GPU.
+     */
+    default boolean isGpuConversion() {
+        return false;
+    }
+
+    /**
+     * Set to convert frames on GPU. The final render pass writes frames in BGRA byte order with premultiplied alpha
+     * and flipped by Y, so the destination doesn't need to be flipped and frames don't need to be swizzled on CPU.
+     *
+     * @param gpuConversion true if frames should be converted on GPU.
+     */
+    default void setGpuConversion(boolean gpuConversion) {
+    }
+
+    /**
+     * Check of processing large frames by horizontal bands concurrently.
+     *
+     * @return true if large frames are processed concurrently.
+     */
+    default boolean isParallelProcessing() {
+        return false;
+    }
+
+    /**
+     * Set to process large frames by horizontal bands concurrently on the shared bounded pool. Frames smaller than
+     * the system property 'jfx.frame.transfer.parallel.threshold' (in pixels) are still processed by one thread.
+     *
+     * @param parallelProcessing true if large frames should be processed concurrently.
+     */
+    default void setParallelProcessing(boolean parallelProcessing) {
+    }
+
+    /**
+     * Get the quiet period of resizing.
+     *
+     * @return the quiet period in ms.
+     */
+    default long getResizeQuietPeriod() {
+        return 0;
+    }
+
+    /**
+     * Set the quiet period which should pass after the last change of the destination's size to rebuild the frame
+     * transfer. While the destination is being resized, it scales frames of the last size.
+     *
+     * @param resizeQuietPeriod the quiet period in ms or 0 to rebuild the transfer on every change.
+     */
+    default void setResizeQuietPeriod(long resizeQuietPeriod) {
+    }
+
+    /**
+     * Get the budget of frame time for the dynamic render scale.
+     *
+     * @return the budget in milliseconds or 0 if the render scale is fixed.
+     */
+    default float getFrameTimeBudget() {
+        return 0;
+    }
+
+    /**
+     * Set the budget of frame time for the dynamic render scale. When rendering, reading and writing of frames
+     * take more time than the budget, frames are rendered in a lower resolution and are scaled by the destination,
+     * the full resolution returns when the frame time recovers or the view becomes idle.
+     *
+     * @param frameTimeBudget the budget in milliseconds or 0 to render in the destination's size.
+     */
+    default void setFrameTimeBudget(float frameTimeBudget) {
+    }
+
+    /**
+     * Get the current scale of the render size relative to the destination's size.
+     *
+     * @return the current render scale.
+     */
+    default float getRenderScale() {
+        return 1F;
+    }
+
+    /**
+     * Check of pausing transferring of frames while the destination isn't visible.
+     *
+     * @return true if transferring is paused while the destination isn't visible.
+     */
+    default boolean isVisibilityTracking() {
+        return false;
+    }
+
+    /**
+     * Set to pause transferring of frames while the destination isn't visible: it or its parent is hidden,
+     * its window isn't showing or is iconified or it's clipped out (e.g. scrolled out of a scroll pane).
+     * Transferring is resumed on the next pulse when the destination becomes visible.
+     *
+     * @param visibilityTracking true if transferring should be paused while the destination isn't visible.
+     */
+    default void setVisibilityTracking(boolean visibilityTracking) {
+    }
+
+    /**
+     * Check of transferring only the part of frames which is visible in the destination.
+     *
+     * @return true if only the visible part of frames is transferred.
+     */
+    default boolean isRegionTracking() {
+        return false;
+    }
+
+    /**
+     * Set to read, convert and write only the part of frames which is visible in the destination: it's limited by
+     * the viewport of the destination (e.g. of an ImageView), clips of its parents and the scene. The visible part
+     * is updated on the next pulse when any of them is changed. While a frame sink or a recorder is attached, frames
+     * are read whole, so they receive complete frames.
+     *
+     * @param regionTracking true if only the visible part of frames should be transferred.
+     */
+    default void setRegionTracking(boolean regionTracking) {
+    }
+
+    /**
+     * Check of pausing rendering of the view port while the destination isn't visible.
+     *
+     * @return true if rendering is paused while the destination isn't visible.
+     */
+    default boolean isRenderSuspension() {
+        return false;
+    }
+
+    /**
+     * Set to pause rendering of the view port while the destination isn't visible by disabling the view port,
+     * requires the visibility tracking and isn't applied to main processors.
+     *
+     * @param renderSuspension true if rendering should be paused while the destination isn't visible.
+     */
+    default void setRenderSuspension(boolean renderSuspension) {
+    }
+
+    /**
+     * Check of visibility of the destination.
+     *
+     * @return true if the destination is visible or the visibility tracking is disabled.
+     */
+    default boolean isDestinationVisible() {
+        return true;
+    }
+
+    /**
+     * Get the recorder of transferred frames.
+     *
+     * @return the recorder or null if frames aren't recorded.
+     */
+    default @Nullable FrameRecorder getFrameRecorder() {
+        return null;
+    }
+
+    /**
+     * Set the recorder of transferred frames, frames are captured from the same reading as for the destination,
+     * so frames which aren't read (e.g. static frames or frames of the hidden destination) aren't recorded too.
+     * The recorder should be closed by the caller.
+     *
+     * @param frameRecorder the recorder or null to stop recording.
+     */
+    default void setFrameRecorder(@Nullable FrameRecorder frameRecorder) {
+    }
+
+    /**
+     * Get the shared atlas which the not main view port renders to.
+     *
+     * @return the atlas or null if the view port renders to its own frame buffer.
+     */
+    default @Nullable FrameAtlas getFrameAtlas() {
+        return null;
+    }
+
+    /**
+     * Set the shared atlas which the not main view port should render to, frames of all view ports in the atlas
+     * are read by one reading per frame. The view port renders to its own frame buffer if it doesn't fit
+     * the atlas, has filters or frames are converted on GPU. The atlas should be disposed by the caller.
+     *
+     * @param frameAtlas the atlas or null to render to an own frame buffer.
+     */
+    default void setFrameAtlas(@Nullable FrameAtlas frameAtlas) {
+    }
+
+    /**
+     * Check of skipping reading of frames while the view port is static in {@link TransferMode#ON_CHANGES} mode.
+     *
+     * @return true if static frames are skipped.
+     */
+    default boolean isChangeTracking() {
+        return false;
+    }
+
+    /**
+     * Set to skip reading of frames while the view port is static in {@link TransferMode#ON_CHANGES} mode. Changes
+     * which can't be seen from the scene graph (e.g. animated filters) should be reported by {@link #markDirty()}.
+     *
+     * @param changeTracking true if static frames should be skipped.
+     */
+    default void setChangeTracking(boolean changeTracking) {
+    }
+
+    /**
+     * Notify about that the next frame differs from the previous one, can be called from any thread.
+     */
+    default void markDirty() {
+    }
+
+    /**
+     * Get the count of frames which were replaced by newer frames before JavaFX could write them.
+     *
+     * @return the count of dropped frames.
+     */
+    default long getDroppedFrames() {
+        return 0;
+    }
 }
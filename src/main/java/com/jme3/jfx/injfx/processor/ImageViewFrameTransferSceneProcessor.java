@@ -1,11 +1,14 @@
 package com.jme3.jfx.injfx.processor;
 
-import com.jme3.jfx.injfx.JmeToJfxApplication;
 import com.jme3.jfx.injfx.transfer.FrameTransfer;
 import com.jme3.jfx.injfx.transfer.impl.ImageFrameTransfer;
+import com.jme3.jfx.injfx.transfer.impl.PixelBufferFrameTransfer;
 import com.jme3.post.SceneProcessor;
 import com.jme3.texture.FrameBuffer;
-import javafx.scene.Node;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.jetbrains.annotations.NotNull;
 
@@ -14,6 +17,60 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ImageViewFrameTransferSceneProcessor extends AbstractFrameTransferSceneProcessor<ImageView> {
 
+    /**
+     * The listener of changes of the viewport of the destination.
+     */
+    @NotNull
+    private final InvalidationListener viewportListener;
+
+    /**
+     * The listener of changes of the image's size of the destination.
+     */
+    @NotNull
+    private final ChangeListener<Image> imageListener;
+
+    /**
+     * The flag of writing frames to images by pixel buffers when they are supported.
+     */
+    private volatile boolean pixelBufferTransfer;
+
+    public ImageViewFrameTransferSceneProcessor() {
+        this.pixelBufferTransfer = true;
+        this.viewportListener = observable -> updateVisibleRegion();
+        this.imageListener = (observable, oldValue, newValue) -> {
+            if (oldValue == null || newValue == null || oldValue.getWidth() != newValue.getWidth() ||
+                    oldValue.getHeight() != newValue.getHeight()) {
+                updateVisibleRegion();
+            }
+        };
+    }
+
+    /**
+     * Check of writing frames to images by pixel buffers when they are supported by the JavaFX runtime.
+     *
+     * @return true if frames are written by pixel buffers.
+     */
+    public boolean isPixelBufferTransfer() {
+        return pixelBufferTransfer;
+    }
+
+    /**
+     * Set to write frames to images by pixel buffers when they are supported by the JavaFX runtime (13+): changed
+     * tiles are copied once to the pixel buffer and only their region is updated, otherwise frames are written to
+     * images by a pixel writer.
+     *
+     * @param pixelBufferTransfer true if frames should be written by pixel buffers.
+     */
+    public void setPixelBufferTransfer(boolean pixelBufferTransfer) {
+
+        if (this.pixelBufferTransfer == pixelBufferTransfer) {
+            return;
+        }
+
+        this.pixelBufferTransfer = pixelBufferTransfer;
+        reshape();
+    }
+
     @Override
     protected int getDestinationHeight() {
         return (int) getDestination().getFitHeight();
@@ -30,13 +87,8 @@ public class ImageViewFrameTransferSceneProcessor extends AbstractFrameTransferS
     }
 
     @Override
-    protected void bindDestination(
-            @NotNull JmeToJfxApplication application,
-            @NotNull ImageView destination,
-            @NotNull Node inputNode
-    ) {
-        super.bindDestination(application, destination, inputNode);
-        destination.setScaleY(-1.0);
+    protected boolean isRenderScaleSupported() {
+        return true;
     }
 
     @Override
@@ -45,6 +97,8 @@ public class ImageViewFrameTransferSceneProcessor extends AbstractFrameTransferS
         destination.fitWidthProperty().addListener(widthListener);
         destination.fitHeightProperty().addListener(heightListener);
         destination.preserveRatioProperty().addListener(rationListener);
+        destination.viewportProperty().addListener(viewportListener);
+        destination.imageProperty().addListener(imageListener);
         super.bindListeners();
     }
 
@@ -54,11 +108,38 @@ public class ImageViewFrameTransferSceneProcessor extends AbstractFrameTransferS
         destination.fitWidthProperty().removeListener(widthListener);
         destination.fitHeightProperty().removeListener(heightListener);
         destination.preserveRatioProperty().removeListener(rationListener);
+        destination.viewportProperty().removeListener(viewportListener);
+        destination.imageProperty().removeListener(imageListener);
         super.unbindDestination();
     }
 
+    @Override
+    protected @NotNull Rectangle2D getSourceRegion() {
+
+        var destination = getDestination();
+        var viewport = destination.getViewport();
+        var image = destination.getImage();
+
+        if (viewport == null || image == null || image.getWidth() <= 0 || image.getHeight() <= 0) {
+            return super.getSourceRegion();
+        }
+
+        var width = image.getWidth();
+        var height = image.getHeight();
+
+        return new Rectangle2D(viewport.getMinX() / width, viewport.getMinY() / height,
+                viewport.getWidth() / width, viewport.getHeight() / height);
+    }
+
     @Override
     protected @NotNull FrameTransfer createFrameTransfer(@NotNull FrameBuffer frameBuffer, int width, int height) {
-        return new ImageFrameTransfer(getDestination(), getTransferMode(), isMain() ? null : frameBuffer, width, height);
+
+        var outputBuffer = isMain() ? null : frameBuffer;
+
+        if (isPixelBufferTransfer() && PixelBufferFrameTransfer.isSupported()) {
+            return new PixelBufferFrameTransfer(getDestination(), getTransferMode(), outputBuffer, width, height);
+        }
+
+        return new ImageFrameTransfer(getDestination(), getTransferMode(), outputBuffer, width, height);
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.jme3.jfx.injfx.processor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The controller of the render scale to keep the frame time in the budget.
+ * <p>
+ * The scale is lowered by one level when the average frame time stays over the budget for several frames and is
+ * raised back when the frame time predicted for the higher level stays well under the budget for a longer time,
+ * or right away when the view becomes idle. After every change the controller waits for a while, so the frame
+ * buffers aren't recreated on every frame.
+ *
+ * @author JavaSaBr
+ */
+public class RenderScaleController {
+
+    /**
+     * The available levels of the render scale.
+     */
+    private static final float[] LEVELS = {1F, 0.85F, 0.7F, 0.6F, 0.5F};
+
+    /**
+     * How many frames over the budget are needed to lower the scale.
+     */
+    private static final int DOWNSCALE_FRAMES = 8;
+
+    /**
+     * How many frames under the budget are needed to raise the scale.
+     */
+    private static final int UPSCALE_FRAMES = 45;
+
+    /**
+     * How many idle frames are needed to return the full scale.
+     */
+    private static final int IDLE_FRAMES = 15;
+
+    /**
+     * How many frames to wait after changing the scale.
+     */
+    private static final int COOLDOWN_FRAMES = 30;
+
+    /**
+     * The part of the budget which the predicted frame time should fit to raise the scale.
+     */
+    private static final float UPSCALE_HEADROOM = 0.8F;
+
+    /**
+     * The weight of a new frame time in the average frame time.
+     */
+    private static final float SMOOTHING = 0.2F;
+
+    /**
+     * The budget of frame time in nanoseconds.
+     */
+    private long budget;
+
+    /**
+     * The average frame time in nanoseconds.
+     */
+    private float averageTime;
+
+    /**
+     * The current level.
+     */
+    private int level;
+
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+    private int idleFrames;
+    private int cooldown;
+
+    /**
+     * Set the budget of frame time, the statistic is reset if the budget is changed.
+     *
+     * @param budget the budget in milliseconds or 0 to disable scaling.
+     */
+    public void setBudget(float budget) {
+
+        var newBudget = (long) (budget * TimeUnit.MILLISECONDS.toNanos(1));
+
+        if (this.budget != newBudget) {
+            this.budget = newBudget;
+            reset();
+        }
+    }
+
+    /**
+     * Reset the statistic and return the full scale.
+     */
+    public void reset() {
+        level = 0;
+        averageTime = 0;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+        idleFrames = 0;
+        cooldown = 0;
+    }
+
+    /**
+     * Get the current render scale.
+     *
+     * @return the current render scale.
+     */
+    public float getScale() {
+        return LEVELS[level];
+    }
+
+    /**
+     * Update the statistic by the last frame.
+     *
+     * @param frameTime the time of rendering, reading and writing the last frame in nanoseconds.
+     * @param idle      true if the last frame wasn't changed.
+     * @return true if the render scale was changed.
+     */
+    public boolean update(long frameTime, boolean idle) {
+
+        if (budget < 1) {
+            return false;
+        }
+
+        if (idle) {
+
+            if (++idleFrames >= IDLE_FRAMES && level > 0) {
+                changeLevel(0);
+                return true;
+            }
+
+            return false;
+        }
+
+        idleFrames = 0;
+        averageTime = averageTime < 1 ? frameTime : averageTime + (frameTime - averageTime) * SMOOTHING;
+
+        if (cooldown > 0) {
+            cooldown--;
+            return false;
+        }
+
+        overBudgetFrames = averageTime > budget ? overBudgetFrames + 1 : 0;
+
+        if (overBudgetFrames >= DOWNSCALE_FRAMES && level < LEVELS.length - 1) {
+            changeLevel(level + 1);
+            return true;
+        }
+
+        if (level < 1) {
+            return false;
+        }
+
+        // the frame time is mostly proportional to the count of pixels
+        var ratio = LEVELS[level - 1] / LEVELS[level];
+        var predictedTime = averageTime * ratio * ratio;
+
+        underBudgetFrames = predictedTime < budget * UPSCALE_HEADROOM ? underBudgetFrames + 1 : 0;
+
+        if (underBudgetFrames >= UPSCALE_FRAMES) {
+            changeLevel(level - 1);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void changeLevel(int level) {
+
+        var ratio = LEVELS[level] / LEVELS[this.level];
+
+        this.level = level;
+        this.averageTime *= ratio * ratio;
+        this.overBudgetFrames = 0;
+        this.underBudgetFrames = 0;
+        this.cooldown = COOLDOWN_FRAMES;
+    }
+}
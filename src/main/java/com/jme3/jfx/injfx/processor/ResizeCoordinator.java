@@ -0,0 +1,194 @@
+package com.jme3.jfx.injfx.processor;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The coordinator of resizing a destination to rebuild a frame transfer only when the size is settled.
+ * <p>
+ * Sizes are requested by the FX thread on every change of the destination's size and are applied by the render
+ * thread only when there were no new requests during the quiet period, meanwhile the destination scales frames
+ * of the last applied size. A settled size which equals the applied size doesn't need rebuilding at all.
+ *
+ * @author JavaSaBr
+ */
+public class ResizeCoordinator {
+
+    /**
+     * The immutable request of a size, so the render thread never sees a partially written request.
+     */
+    private static final class SizeRequest {
+
+        private final int width;
+        private final int height;
+        private final boolean fixAspect;
+
+        /**
+         * The time of the request in nanoseconds.
+         */
+        private final long time;
+
+        private SizeRequest(int width, int height, boolean fixAspect, long time) {
+            this.width = width;
+            this.height = height;
+            this.fixAspect = fixAspect;
+            this.time = time;
+        }
+    }
+
+    /**
+     * The initial size before any requests.
+     */
+    @NotNull
+    private final SizeRequest initialRequest;
+
+    /**
+     * The last requested size.
+     */
+    @NotNull
+    private final AtomicReference<SizeRequest> request;
+
+    /**
+     * The quiet period in nanoseconds.
+     */
+    private volatile long quietPeriod;
+
+    /**
+     * The last handled request, only for the render thread.
+     */
+    @NotNull
+    private SizeRequest handledRequest;
+
+    private int appliedWidth;
+    private int appliedHeight;
+    private boolean appliedFixAspect;
+
+    public ResizeCoordinator() {
+        this.initialRequest = new SizeRequest(1, 1, false, 0);
+        this.request = new AtomicReference<>(initialRequest);
+        this.handledRequest = initialRequest;
+        this.appliedWidth = 1;
+        this.appliedHeight = 1;
+    }
+
+    /**
+     * Get the quiet period.
+     *
+     * @return the quiet period in milliseconds.
+     */
+    public long getQuietPeriod() {
+        return TimeUnit.NANOSECONDS.toMillis(quietPeriod);
+    }
+
+    /**
+     * Set the quiet period which should pass after the last request to apply the requested size.
+     *
+     * @param quietPeriod the quiet period in milliseconds or 0 to apply sizes right away.
+     */
+    public void setQuietPeriod(long quietPeriod) {
+        this.quietPeriod = TimeUnit.MILLISECONDS.toNanos(Math.max(0, quietPeriod));
+    }
+
+    /**
+     * Request the new size, only for the FX thread.
+     *
+     * @param width     the width.
+     * @param height    the height.
+     * @param fixAspect true if need to fix aspect ration.
+     * @return true if the requested size was changed.
+     */
+    public boolean request(int width, int height, boolean fixAspect) {
+
+        var current = request.get();
+
+        if (current.width == width && current.height == height && current.fixAspect == fixAspect) {
+            return false;
+        }
+
+        request.set(new SizeRequest(width, height, fixAspect, System.nanoTime()));
+
+        return true;
+    }
+
+    /**
+     * Apply the requested size if it's settled, only for the render thread.
+     *
+     * The first requested size is always applied without waiting.
+     *
+     * @param immediately true if the requested size should be applied without waiting for the quiet period.
+     * @return true if the applied size was changed.
+     */
+    public boolean apply(boolean immediately) {
+
+        var current = request.get();
+
+        if (current == handledRequest) {
+            return false;
+        } else if (!immediately && handledRequest != initialRequest && System.nanoTime() - current.time < quietPeriod) {
+            return false;
+        }
+
+        handledRequest = current;
+
+        var width = current.width;
+        var height = current.height;
+        var fixAspect = current.fixAspect;
+
+        if (appliedWidth == width && appliedHeight == height && appliedFixAspect == fixAspect) {
+            return false;
+        }
+
+        appliedWidth = width;
+        appliedHeight = height;
+        appliedFixAspect = fixAspect;
+
+        return true;
+    }
+
+    /**
+     * Get the requested width.
+     *
+     * @return the requested width.
+     */
+    public int getRequestedWidth() {
+        return request.get().width;
+    }
+
+    /**
+     * Get the requested height.
+     *
+     * @return the requested height.
+     */
+    public int getRequestedHeight() {
+        return request.get().height;
+    }
+
+    /**
+     * Get the applied width, only for the render thread.
+     *
+     * @return the applied width.
+     */
+    public int getAppliedWidth() {
+        return appliedWidth;
+    }
+
+    /**
+     * Get the applied height, only for the render thread.
+     *
+     * @return the applied height.
+     */
+    public int getAppliedHeight() {
+        return appliedHeight;
+    }
+
+    /**
+     * Check of fixing aspect ration of the applied size, only for the render thread.
+     *
+     * @return true if need to fix aspect ration.
+     */
+    public boolean isAppliedFixAspect() {
+        return appliedFixAspect;
+    }
+}
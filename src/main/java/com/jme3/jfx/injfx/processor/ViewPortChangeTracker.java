@@ -0,0 +1,312 @@
+package com.jme3.jfx.injfx.processor;
+
+import com.jme3.light.DirectionalLight;
+import com.jme3.light.Light;
+import com.jme3.light.PointLight;
+import com.jme3.light.SpotLight;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.post.FilterPostProcessor;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.shader.UniformBinding;
+import com.jme3.texture.Texture;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The tracker of changes of view ports to decide when a rendered frame can differ from the previous one.
+ * <p>
+ * The tracker builds a signature of cameras, processors, filters and scenes of view ports before they are rendered
+ * and considers a view port as static while the signature isn't changed and there are no pending updates of
+ * meshes, textures and no materials depending on time. Pending updates are cleared by uploading, so the tracker
+ * should be updated before any view port is rendered. Changes which can't be seen from the scene graph
+ * (e.g. animated filters) should be reported by {@link #markDirty()}.
+ *
+ * @author JavaSaBr
+ */
+public class ViewPortChangeTracker {
+
+    /**
+     * The flag of changes which were reported explicitly.
+     */
+    @NotNull
+    private final AtomicBoolean dirty;
+
+    /**
+     * The signature of the previous frame.
+     */
+    private long signature;
+
+    /**
+     * How many frames should be read else after the last change.
+     */
+    private int framesToRead;
+
+    /**
+     * The flag of detected changes which can't be seen from the signature.
+     */
+    private boolean dynamic;
+
+    public ViewPortChangeTracker() {
+        this.dirty = new AtomicBoolean(true);
+    }
+
+    /**
+     * Mark the tracked view ports as changed, can be called from any thread.
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * Notify about skipping reading of the rendered frame, one more frame is read instead of it.
+     */
+    public void notifyReadSkipped() {
+        framesToRead++;
+    }
+
+    /**
+     * Check the view ports before rendering them.
+     *
+     * @param viewPorts   the view ports.
+     * @param extraFrames how many frames should be read else after the last change.
+     * @return true if the rendered frame should be read.
+     */
+    public boolean update(@NotNull Iterable<ViewPort> viewPorts, int extraFrames) {
+
+        dynamic = false;
+
+        var newSignature = 17L;
+
+        for (var viewPort : viewPorts) {
+            newSignature = hash(newSignature, viewPort);
+        }
+
+        var changed = dirty.getAndSet(false) || dynamic || newSignature != signature;
+
+        signature = newSignature;
+
+        if (changed) {
+            framesToRead = 1 + extraFrames;
+        }
+
+        if (framesToRead < 1) {
+            return false;
+        }
+
+        framesToRead--;
+        return true;
+    }
+
+    private long hash(long hash, @NotNull ViewPort viewPort) {
+
+        hash = mix(hash, System.identityHashCode(viewPort));
+        hash = mix(hash, viewPort.isEnabled() ? 1 : 0);
+
+        if (!viewPort.isEnabled()) {
+            return hash;
+        }
+
+        hash = mix(hash, viewPort.getBackgroundColor());
+        hash = mix(hash, (viewPort.isClearColor() ? 1 : 0) | (viewPort.isClearDepth() ? 2 : 0));
+        hash = hash(hash, viewPort.getCamera());
+
+        for (var processor : viewPort.getProcessors()) {
+
+            hash = mix(hash, System.identityHashCode(processor));
+
+            if (processor instanceof FilterPostProcessor) {
+                for (var filter : ((FilterPostProcessor) processor).getFilterList()) {
+                    hash = mix(hash, System.identityHashCode(filter));
+                    hash = mix(hash, filter.isEnabled() ? 1 : 0);
+                }
+            }
+        }
+
+        for (var scene : viewPort.getScenes()) {
+            hash = hash(hash, scene);
+        }
+
+        return hash;
+    }
+
+    private long hash(long hash, @NotNull Camera camera) {
+        hash = mix(hash, camera.getLocation());
+        hash = mix(hash, camera.getRotation());
+        hash = mix(hash, camera.getWidth());
+        hash = mix(hash, camera.getHeight());
+        hash = mix(hash, camera.isParallelProjection() ? 1 : 0);
+        hash = mix(hash, camera.getFrustumNear());
+        hash = mix(hash, camera.getFrustumFar());
+        hash = mix(hash, camera.getFrustumLeft());
+        hash = mix(hash, camera.getFrustumRight());
+        hash = mix(hash, camera.getFrustumTop());
+        hash = mix(hash, camera.getFrustumBottom());
+        hash = mix(hash, camera.getViewPortLeft());
+        hash = mix(hash, camera.getViewPortRight());
+        hash = mix(hash, camera.getViewPortTop());
+        hash = mix(hash, camera.getViewPortBottom());
+        return hash;
+    }
+
+    private long hash(long hash, @NotNull Spatial spatial) {
+
+        var cullHint = spatial.getCullHint();
+
+        hash = mix(hash, System.identityHashCode(spatial));
+        hash = mix(hash, cullHint.ordinal());
+
+        if (cullHint == Spatial.CullHint.Always) {
+            return hash;
+        }
+
+        hash = mix(hash, spatial.getQueueBucket().ordinal());
+        hash = mix(hash, spatial.getWorldTransform());
+
+        for (var light : spatial.getLocalLightList()) {
+            hash = hash(hash, light);
+        }
+
+        if (spatial instanceof Geometry) {
+            var geometry = (Geometry) spatial;
+            var material = geometry.getMaterial();
+            hash = hash(hash, geometry.getMesh());
+            hash = material == null ? hash : hash(hash, material);
+        } else if (spatial instanceof Node) {
+            for (var child : ((Node) spatial).getChildren()) {
+                hash = hash(hash, child);
+            }
+        }
+
+        return hash;
+    }
+
+    private long hash(long hash, @NotNull Light light) {
+
+        hash = mix(hash, System.identityHashCode(light));
+        hash = mix(hash, light.isEnabled() ? 1 : 0);
+        hash = mix(hash, light.getColor());
+
+        if (light instanceof DirectionalLight) {
+            hash = mix(hash, ((DirectionalLight) light).getDirection());
+        } else if (light instanceof PointLight) {
+            var pointLight = (PointLight) light;
+            hash = mix(hash, pointLight.getPosition());
+            hash = mix(hash, pointLight.getRadius());
+        } else if (light instanceof SpotLight) {
+            var spotLight = (SpotLight) light;
+            hash = mix(hash, spotLight.getPosition());
+            hash = mix(hash, spotLight.getDirection());
+            hash = mix(hash, spotLight.getSpotRange());
+            hash = mix(hash, spotLight.getSpotInnerAngle());
+            hash = mix(hash, spotLight.getSpotOuterAngle());
+        }
+
+        return hash;
+    }
+
+    private long hash(long hash, @NotNull Mesh mesh) {
+
+        hash = mix(hash, System.identityHashCode(mesh));
+
+        for (var buffer : mesh.getBufferList()) {
+            if (buffer.isUpdateNeeded()) {
+                dynamic = true;
+            }
+        }
+
+        return hash;
+    }
+
+    private long hash(long hash, @NotNull Material material) {
+
+        hash = mix(hash, System.identityHashCode(material));
+
+        var technique = material.getActiveTechnique();
+
+        if (technique == null) {
+            dynamic = true;
+        } else {
+            var worldBindings = technique.getDef().getWorldBindings();
+            if (worldBindings.contains(UniformBinding.Time) || worldBindings.contains(UniformBinding.Tpf)) {
+                dynamic = true;
+            }
+        }
+
+        for (var param : material.getParams()) {
+
+            var value = param.getValue();
+
+            if (value instanceof Texture) {
+                var image = ((Texture) value).getImage();
+                hash = mix(hash, System.identityHashCode(value));
+                dynamic |= image != null && image.isUpdateNeeded();
+            } else if (value instanceof Object[]) {
+                hash = mix(hash, Arrays.deepHashCode((Object[]) value));
+            } else if (value instanceof float[]) {
+                hash = mix(hash, Arrays.hashCode((float[]) value));
+            } else if (value instanceof int[]) {
+                hash = mix(hash, Arrays.hashCode((int[]) value));
+            } else if (value != null) {
+                hash = mix(hash, value.hashCode());
+            }
+        }
+
+        return hash;
+    }
+
+    private static long mix(long hash, @NotNull Transform transform) {
+        hash = mix(hash, transform.getTranslation());
+        hash = mix(hash, transform.getRotation());
+        return mix(hash, transform.getScale());
+    }
+
+    private static long mix(long hash, @NotNull Vector3f vector) {
+        hash = mix(hash, vector.getX());
+        hash = mix(hash, vector.getY());
+        return mix(hash, vector.getZ());
+    }
+
+    private static long mix(long hash, @NotNull Quaternion quaternion) {
+        hash = mix(hash, quaternion.getX());
+        hash = mix(hash, quaternion.getY());
+        hash = mix(hash, quaternion.getZ());
+        return mix(hash, quaternion.getW());
+    }
+
+    private static long mix(long hash, @NotNull ColorRGBA color) {
+        hash = mix(hash, color.getRed());
+        hash = mix(hash, color.getGreen());
+        hash = mix(hash, color.getBlue());
+        return mix(hash, color.getAlpha());
+    }
+
+    private static long mix(long hash, float value) {
+        return mix(hash, Float.floatToIntBits(value));
+    }
+
+    /**
+     * Mix the value into the hash by the finalizer of SplitMix64, so each bit of the value affects all bits of the
+     * result.
+     *
+     * @param hash  the current hash.
+     * @param value the value.
+     * @return the new hash.
+     */
+    private static long mix(long hash, int value) {
+        var result = hash + (value & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L;
+        result = (result ^ (result >>> 30)) * 0xBF58476D1CE4E5B9L;
+        result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+        return result ^ (result >>> 31);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jme3.jfx.injfx.transfer;
+
+/**
+ * The formats of read frames.
+ *
+ * @author JavaSaBr
+ */
+public enum FrameFormat {
+
+    /**
+     * 4 bytes per pixel in RGBA order, rows go from bottom to top as they were read from OpenGL.
+     */
+    RGBA,
+
+    /**
+     * 4 bytes per pixel in BGRA order with premultiplied alpha, rows go from top to bottom, frames in this format
+     * are converted on GPU.
+     */
+    BGRA_PRE
+}
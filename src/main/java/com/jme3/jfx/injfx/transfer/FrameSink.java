@@ -0,0 +1,27 @@
+package com.jme3.jfx.injfx.transfer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The receiver of frames which are read from a jME frame buffer, doesn't depend on JavaFX, so frames can be
+ * presented in JavaFX, recorded or processed without a display.
+ *
+ * @author JavaSaBr
+ */
+@FunctionalInterface
+public interface FrameSink {
+
+    /**
+     * Handle the read frame, is called in the render thread. The frame is a direct buffer which is valid only during
+     * this call and must not be changed, so it should be copied to be used later.
+     *
+     * @param frame    the read frame with the position 0 and the limit of its size.
+     * @param width    the width.
+     * @param height   the height.
+     * @param format   the format.
+     * @param sequence the sequence number of the frame in the transfer.
+     */
+    void onFrame(@NotNull ByteBuffer frame, int width, int height, @NotNull FrameFormat format, long sequence);
+}
@@ -1,8 +1,13 @@
 package com.jme3.jfx.injfx.transfer;
 
+import com.jme3.asset.AssetManager;
+import com.jme3.jfx.injfx.transfer.impl.FrameAtlas;
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.Renderer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * The class for transferring content from a jME frame buffer to somewhere.
@@ -20,6 +25,71 @@ public interface FrameTransfer {
     default void initFor(@NotNull Renderer renderer, boolean main) {
     }
 
+    /**
+     * Set how many frames the async reading of frames can be behind, must be called before {@link #initFor}.
+     * If the value is 0 or the renderer doesn't support async reading, frames will be read synchronously.
+     *
+     * @param readbackLatency the count of frames or 0 to read frames synchronously.
+     */
+    default void setReadbackLatency(int readbackLatency) {
+    }
+
+    /**
+     * Enable the final render pass to convert frames to the format of JavaFX images on GPU, must be called before
+     * {@link #initFor}. Converted frames are already flipped by Y.
+     *
+     * @param assetManager the asset manager to load the material of the pass.
+     */
+    default void enableGpuConversion(@NotNull AssetManager assetManager) {
+    }
+
+    /**
+     * Set the region of the shared atlas which the view port renders to, frames of the region are read by one
+     * reading of the atlas per frame, must be called before {@link #initFor}.
+     *
+     * @param atlasRegion the region of the atlas.
+     */
+    default void setAtlasRegion(@NotNull FrameAtlas.Region atlasRegion) {
+    }
+
+    /**
+     * Set the region of frames which is visible in the destination in fractions of the size of frames, only this
+     * region is read, converted and written from the next frame, must be called in the render thread. Whole frames
+     * are still read while frames are handed to a sink or recorded.
+     *
+     * @param minX the left side.
+     * @param minY the top side in rows of frames.
+     * @param maxX the right side.
+     * @param maxY the bottom side in rows of frames.
+     */
+    default void setVisibleRegion(float minX, float minY, float maxX, float maxY) {
+    }
+
+    /**
+     * Set the flag of processing large frames by horizontal bands concurrently on the shared bounded pool.
+     *
+     * @param parallelProcessing true if large frames should be processed concurrently.
+     */
+    default void setParallelProcessing(boolean parallelProcessing) {
+    }
+
+    /**
+     * Set the additional sink of every read frame besides the destination, e.g. to capture frames without extra
+     * reading them from GPU.
+     *
+     * @param frameSink the additional sink or null to remove it.
+     */
+    default void setFrameSink(@Nullable FrameSink frameSink) {
+    }
+
+    /**
+     * Set the listener which is notified in the FX thread after every frame written to the destination.
+     *
+     * @param writeListener the listener or null to remove it.
+     */
+    default void setWriteListener(@Nullable Runnable writeListener) {
+    }
+
     /**
      * Gets the width.
      *
@@ -34,6 +104,24 @@ public interface FrameTransfer {
      */
     int getHeight();
 
+    /**
+     * Get the count of frames which were replaced by newer frames before they were written to the destination.
+     *
+     * @return the count of dropped frames.
+     */
+    default long getDroppedFrames() {
+        return 0;
+    }
+
+    /**
+     * Get the time of the last writing of a frame to the destination.
+     *
+     * @return the time in nanoseconds.
+     */
+    default long getWriteTime() {
+        return 0;
+    }
+
     /**
      * Copy the content from render to the frameByteBuffer and write this content to javaFX.
      *
@@ -42,7 +130,38 @@ public interface FrameTransfer {
     void copyFrameBufferToImage(@NotNull RenderManager renderManager);
 
     /**
-     * Dispose this transfer.
+     * Check of skipping reading of the last frame, e.g. when the GPU is too far behind async reading, so the frame
+     * should be read again.
+     *
+     * @return true if reading of the last frame was skipped.
+     */
+    default boolean isReadSkipped() {
+        return false;
+    }
+
+    /**
+     * Dispose this transfer without blocking the render thread. Resources which are used by the FX thread at this
+     * moment are released later by {@link #completeDispose()} or {@link #awaitDispose(long, TimeUnit)}.
      */
     void dispose();
+
+    /**
+     * Try to release deferred resources of this disposed transfer, must be called in the render thread.
+     *
+     * @return true if this transfer is disposed completely.
+     */
+    default boolean completeDispose() {
+        return true;
+    }
+
+    /**
+     * Wait for releasing deferred resources of this disposed transfer, must be called in the render thread.
+     *
+     * @param timeout the timeout.
+     * @param unit    the unit of the timeout.
+     * @return true if this transfer is disposed completely.
+     */
+    default boolean awaitDispose(long timeout, @NotNull TimeUnit unit) {
+        return completeDispose();
+    }
 }
@@ -1,46 +1,64 @@
 package com.jme3.jfx.injfx.transfer.impl;
 
 import static com.jme3.jfx.injfx.processor.FrameTransferSceneProcessor.TransferMode;
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.asset.AssetManager;
+import com.jme3.jfx.injfx.transfer.FrameFormat;
+import com.jme3.jfx.injfx.transfer.FrameSink;
 import com.jme3.jfx.injfx.transfer.FrameTransfer;
 import com.jme3.jfx.util.JfxPlatform;
+import com.jme3.jfx.util.PixelUtils;
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.Renderer;
 import com.jme3.texture.FrameBuffer;
-import com.jme3.texture.Image;
-import com.jme3.util.BufferUtils;
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * The base implementation of a frame transfer.
+ * The base implementation of a frame transfer which presents frames of its {@link FrameReadback} in a JavaFX
+ * destination, so it's a JavaFX sink of read frames.
  *
  * @param <T> the destination's type.
  * @author JavaSaBr
  */
-public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
+public abstract class AbstractFrameTransfer<T> implements FrameTransfer, FrameSink {
 
-    protected static final int RUNNING_STATE = 1;
-    protected static final int WAITING_STATE = 2;
-    protected static final int DISPOSING_STATE = 3;
-    protected static final int DISPOSED_STATE = 4;
+    /**
+     * The lifecycle shared between the render thread and the FX thread.
+     */
+    @NotNull
+    protected final TransferLifecycle lifecycle;
+
+    /**
+     * The flag of a scheduled writing of frames to the destination.
+     */
+    @NotNull
+    protected final AtomicBoolean writeScheduled;
+
+    /**
+     * The count of frames which were replaced by newer frames before they were written.
+     */
+    @NotNull
+    protected final AtomicLong droppedFrames;
 
     /**
-     * The Frame state.
+     * The task to write frames to the destination.
      */
     @NotNull
-    protected final AtomicInteger frameState;
+    protected final Runnable writeTask;
 
     /**
-     * The Image state.
+     * The readback of frames.
      */
     @NotNull
-    protected final AtomicInteger imageState;
+    protected final FrameReadback readback;
 
     /**
      * The Frame buffer.
@@ -49,16 +67,16 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
     protected final FrameBuffer frameBuffer;
 
     /**
-     * The Pixel writer.
+     * The pool of frame resources.
      */
     @NotNull
-    protected final PixelWriter pixelWriter;
+    protected final FrameResourcePool resourcePool;
 
     /**
-     * The Frame byte buffer.
+     * The Pixel writer or null if the transfer writes frames to the destination in other way.
      */
-    @NotNull
-    protected final ByteBuffer frameByteBuffer;
+    @Nullable
+    protected final PixelWriter pixelWriter;
 
     /**
      * The transfer mode.
@@ -67,27 +85,102 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
     protected final TransferMode transferMode;
 
     /**
-     * The byte buffer.
+     * The off-heap memory of staged frames.
+     */
+    @NotNull
+    protected final StagingArena stagingArena;
+
+    /**
+     * The slots of the frame ring.
      */
     @NotNull
-    protected final byte[] byteBuffer;
+    protected final FrameSlot[] frameSlots;
 
     /**
-     * The image byte buffer.
+     * The ring of converted frames to hand them over to the FX thread.
      */
     @NotNull
-    protected final byte[] imageByteBuffer;
+    protected final FrameRing<FrameSlot> frameRing;
 
     /**
-     * The prev image byte buffer.
+     * The tiles of frames.
      */
     @NotNull
-    protected final byte[] prevImageByteBuffer;
+    protected final FrameTiles frameTiles;
 
     /**
-     * How many frames need to write else.
+     * The mask of changed tiles of the current frame, only for the jME thread.
      */
-    protected int frameCount;
+    @NotNull
+    protected final long[] changedTiles;
+
+    /**
+     * The mask of tiles to write to the destination, only for the FX thread.
+     */
+    @NotNull
+    protected final long[] writtenTiles;
+
+    /**
+     * The mask of tiles of the read region of the current frame, only for the jME thread.
+     */
+    @NotNull
+    protected final long[] readTiles;
+
+    /**
+     * The mask of tiles of the read region of the previous frame, only for the jME thread.
+     */
+    @NotNull
+    protected final long[] prevReadTiles;
+
+    /**
+     * The mask of tiles which weren't read with the previous frame, only for the jME thread.
+     */
+    @NotNull
+    protected final long[] revealedTiles;
+
+    /**
+     * The previous read frame to detect changes or null if the transfer mode is {@link TransferMode#ALWAYS}.
+     */
+    @Nullable
+    protected final ByteBuffer prevFrame;
+
+    /**
+     * The masks of changed tiles of bands when frames are processed concurrently, only for the jME thread.
+     */
+    @Nullable
+    private long[][] bandTiles;
+
+    /**
+     * The flag of processing frames by bands concurrently.
+     */
+    protected volatile boolean parallelProcessing;
+
+    /**
+     * The additional sink of read frames or null.
+     */
+    @Nullable
+    protected volatile FrameSink frameSink;
+
+    /**
+     * The listener of written frames or null.
+     */
+    @Nullable
+    protected volatile Runnable writeListener;
+
+    /**
+     * The time of the last writing of a frame to the destination in nanoseconds.
+     */
+    protected volatile long writeTime;
+
+    /**
+     * The flag to transfer the whole next frame.
+     */
+    protected boolean fullFrameNeeded;
+
+    /**
+     * The visible region of frames in fractions of the size, only for the jME thread.
+     */
+    private float visibleMinX, visibleMinY, visibleMaxX, visibleMaxY;
 
     /**
      * The width.
@@ -111,33 +204,148 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
             int height
     ) {
         this.transferMode = transferMode;
-        this.frameState = new AtomicInteger(WAITING_STATE);
-        this.imageState = new AtomicInteger(WAITING_STATE);
-        this.width = frameBuffer != null ? frameBuffer.getWidth() : width;
-        this.height = frameBuffer != null ? frameBuffer.getHeight() : height;
-        this.frameCount = 0;
-
-        if (frameBuffer != null) {
-            this.frameBuffer = frameBuffer;
-        } else {
-            this.frameBuffer = new FrameBuffer(width, height, 1);
-            this.frameBuffer.setDepthBuffer(Image.Format.Depth);
-            this.frameBuffer.setColorBuffer(Image.Format.RGBA8);
-            this.frameBuffer.setSrgb(true);
-        }
-
-        frameByteBuffer = BufferUtils.createByteBuffer(getWidth() * getHeight() * 4);
-        byteBuffer = new byte[getWidth() * getHeight() * 4];
-        prevImageByteBuffer = new byte[getWidth() * getHeight() * 4];
-        imageByteBuffer = new byte[getWidth() * getHeight() * 4];
+        this.resourcePool = FrameResourcePool.getInstance();
+        this.readback = new FrameReadback(frameBuffer, width, height);
+        this.lifecycle = new TransferLifecycle();
+        this.writeScheduled = new AtomicBoolean(false);
+        this.droppedFrames = new AtomicLong();
+        this.writeTask = this::writeFrame;
+        this.width = readback.getWidth();
+        this.height = readback.getHeight();
+        this.frameBuffer = readback.getFrameBuffer();
+        this.fullFrameNeeded = true;
+        this.visibleMaxX = 1F;
+        this.visibleMaxY = 1F;
+
+        frameTiles = new FrameTiles(getWidth(), getHeight(), FrameTiles.getTileSize());
+        changedTiles = frameTiles.newMask();
+        writtenTiles = frameTiles.newMask();
+        readTiles = frameTiles.newMask();
+        prevReadTiles = frameTiles.newMask();
+        revealedTiles = frameTiles.newMask();
+        stagingArena = new StagingArena(resourcePool, getWidth() * getHeight() * 4, getStagingFrames());
+        frameSlots = new FrameSlot[]{createSlot(), createSlot(), createSlot()};
+        frameRing = new FrameRing<>(frameSlots[0], frameSlots[1], frameSlots[2]);
+        prevFrame = transferMode == TransferMode.ON_CHANGES ? createFrameBuffer() : null;
         pixelWriter = getPixelWriter(destination, this.frameBuffer, width, height);
     }
 
+    /**
+     * Create a new slot of the frame ring.
+     *
+     * @return the new slot.
+     */
+    protected @NotNull FrameSlot createSlot() {
+        return new FrameSlot(createFrameBuffer(), frameTiles.newMask());
+    }
+
+    /**
+     * Get the count of frames which should be staged in the off-heap arena: the slots of the frame ring and
+     * the previous frame in {@link TransferMode#ON_CHANGES} mode.
+     *
+     * @return the count of staged frames.
+     */
+    protected int getStagingFrames() {
+        return 3 + (transferMode == TransferMode.ON_CHANGES ? 1 : 0);
+    }
+
+    /**
+     * Slice a buffer to store a frame from the staging arena.
+     *
+     * @return the buffer.
+     */
+    protected @NotNull ByteBuffer createFrameBuffer() {
+        return stagingArena.nextFrame();
+    }
+
     @Override
     public void initFor(@NotNull Renderer renderer, boolean main) {
-        if (main) {
-            renderer.setMainFrameBufferOverride(frameBuffer);
+        readback.initFor(renderer, main);
+    }
+
+    @Override
+    public void setReadbackLatency(int readbackLatency) {
+        readback.setReadbackLatency(readbackLatency);
+    }
+
+    @Override
+    public void enableGpuConversion(@NotNull AssetManager assetManager) {
+        readback.enableGpuConversion(assetManager);
+    }
+
+    @Override
+    public void setAtlasRegion(@NotNull FrameAtlas.Region atlasRegion) {
+        readback.setAtlasRegion(atlasRegion);
+    }
+
+    @Override
+    public void setVisibleRegion(float minX, float minY, float maxX, float maxY) {
+
+        // frames which are handed to the sink should be whole
+        if (frameSink != null) {
+            minX = 0F;
+            minY = 0F;
+            maxX = 1F;
+            maxY = 1F;
         }
+
+        if (visibleMinX == minX && visibleMinY == minY && visibleMaxX == maxX && visibleMaxY == maxY) {
+            return;
+        }
+
+        visibleMinX = minX;
+        visibleMinY = minY;
+        visibleMaxX = maxX;
+        visibleMaxY = maxY;
+
+        // the read region is aligned by tiles, so read tiles are always whole
+        var columns = frameTiles.getColumns();
+        var rows = frameTiles.getRows();
+        var firstColumn = toTile(minX * width, columns);
+        var firstRow = toTile(minY * height, rows);
+        var lastColumn = Math.max(firstColumn, toTile((float) Math.ceil(maxX * width) - 1, columns));
+        var lastRow = Math.max(firstRow, toTile((float) Math.ceil(maxY * height) - 1, rows));
+
+        var x = frameTiles.getX(firstColumn);
+        var y = frameTiles.getY(firstRow);
+
+        readback.setReadRegion(x, y, frameTiles.getX(lastColumn) + frameTiles.getWidth(lastColumn) - x,
+                frameTiles.getY(lastRow) + frameTiles.getHeight(lastRow) - y);
+    }
+
+    /**
+     * Get the column or row of tiles which contains the pixel.
+     *
+     * @param pixel the X or Y of the pixel.
+     * @param count the count of columns or rows.
+     * @return the column or row.
+     */
+    private int toTile(float pixel, int count) {
+        return Math.max(0, Math.min(count - 1, (int) pixel / frameTiles.getSize()));
+    }
+
+    @Override
+    public void setParallelProcessing(boolean parallelProcessing) {
+        this.parallelProcessing = parallelProcessing;
+    }
+
+    @Override
+    public void setFrameSink(@Nullable FrameSink frameSink) {
+        this.frameSink = frameSink;
+    }
+
+    @Override
+    public void setWriteListener(@Nullable Runnable writeListener) {
+        this.writeListener = writeListener;
+    }
+
+    /**
+     * Check of processing the current frame by bands concurrently.
+     *
+     * @return true if the current frame should be processed concurrently.
+     */
+    protected boolean isParallel() {
+        return parallelProcessing && FrameBandExecutor.isWorthy(width, height, frameTiles.getRows());
     }
 
     /**
@@ -147,9 +355,9 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
      * @param frameBuffer the frame buffer.
      * @param width       the width.
      * @param height      the height.
-     * @return the pixel writer.
+     * @return the pixel writer or null if the transfer writes frames to the destination in other way.
      */
-    protected PixelWriter getPixelWriter(@NotNull T destination, @NotNull FrameBuffer frameBuffer, int width, int height) {
+    protected @Nullable PixelWriter getPixelWriter(@NotNull T destination, @NotNull FrameBuffer frameBuffer, int width, int height) {
         throw new UnsupportedOperationException();
     }
 
@@ -166,121 +374,452 @@ public abstract class AbstractFrameTransfer<T> implements FrameTransfer {
     @Override
     public void copyFrameBufferToImage(@NotNull RenderManager renderManager) {
 
-        while (!frameState.compareAndSet(WAITING_STATE, RUNNING_STATE)) {
-            if (frameState.get() == DISPOSED_STATE) {
-                return;
+        // reading and disposing are both done in the render thread
+        if (lifecycle.isActive()) {
+            readback.read(renderManager, this);
+        }
+    }
+
+    @Override
+    public boolean isReadSkipped() {
+        return readback.isReadSkipped();
+    }
+
+    /**
+     * Hand over the read frame to the additional sink and stage it for the destination, only for the jME thread.
+     *
+     * @param frame    the read frame.
+     * @param width    the width.
+     * @param height   the height.
+     * @param format   the format.
+     * @param sequence the sequence number of the frame in the transfer.
+     */
+    @Override
+    public void onFrame(@NotNull ByteBuffer frame, int width, int height, @NotNull FrameFormat format, long sequence) {
+
+        // frames of an atlas are handed over after processing of view ports
+        if (!lifecycle.isActive()) {
+            return;
+        }
+
+        var frameSink = this.frameSink;
+
+        if (frameSink != null) {
+            frameSink.onFrame(frame, width, height, format, sequence);
+        }
+
+        stageFrame(frame);
+    }
+
+    /**
+     * Convert changed tiles of the read frame to the free slot and publish them for the FX thread.
+     *
+     * @param frame the read frame in RGBA format.
+     */
+    protected void stageFrame(@NotNull ByteBuffer frame) {
+
+        updateReadTiles();
+
+        if (transferMode == TransferMode.ALWAYS || fullFrameNeeded) {
+            frameTiles.setAll(changedTiles);
+            if (prevFrame != null) {
+                copyFrame(frame, prevFrame);
             }
+        } else if (!detectChangedTiles(frame, notNull(prevFrame))) {
+            return;
         }
 
-        // Convert screenshot.
-        try {
+        fullFrameNeeded = false;
 
-            frameByteBuffer.clear();
+        var slot = frameRing.getWriteSlot();
+        var staleTiles = slot.getStaleTiles();
 
-            var renderer = renderManager.getRenderer();
-            renderer.readFrameBufferWithFormat(frameBuffer, frameByteBuffer, Image.Format.RGBA8);
+        // tiles out of the read region are staged when they are read again
+        for (int i = 0; i < changedTiles.length; i++) {
+            changedTiles[i] &= readTiles[i];
+            staleTiles[i] &= readTiles[i];
+        }
 
-        } finally {
-            if (!frameState.compareAndSet(RUNNING_STATE, WAITING_STATE)) {
-                throw new RuntimeException("unknown problem with the frame state");
+        convertTiles(frame, slot);
+
+        if (!frameRing.publish()) {
+            droppedFrames.incrementAndGet();
+        }
+
+        frameTiles.publish(changedTiles);
+        scheduleWrite();
+    }
+
+    /**
+     * Update the masks of read tiles by the read region of the current frame.
+     */
+    protected void updateReadTiles() {
+
+        var region = readback.getFrameRegion();
+
+        System.arraycopy(readTiles, 0, prevReadTiles, 0, readTiles.length);
+        frameTiles.setRegion(readTiles, region[0], region[1], region[2], region[3]);
+
+        for (int i = 0; i < readTiles.length; i++) {
+            revealedTiles[i] = readTiles[i] & ~prevReadTiles[i];
+        }
+    }
+
+    /**
+     * Schedule writing of frames to the destination if it isn't scheduled yet, so there is at most one pending
+     * task in the FX thread for this transfer.
+     */
+    protected void scheduleWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            JfxPlatform.runInFxThread(writeTask);
+        }
+    }
+
+    @Override
+    public long getWriteTime() {
+        return writeTime;
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Copy the whole read frame to the previous frame.
+     *
+     * @param frame     the read frame.
+     * @param prevFrame the previous frame.
+     */
+    protected void copyFrame(@NotNull ByteBuffer frame, @NotNull ByteBuffer prevFrame) {
+
+        if (!isParallel()) {
+            PixelUtils.copy(frame, prevFrame, 0, width * height * 4);
+            return;
+        }
+
+        FrameBandExecutor.run(frameTiles.getRows(), (band, firstRow, lastRow) -> {
+            var offset = frameTiles.getY(firstRow) * width * 4;
+            var end = (frameTiles.getY(lastRow - 1) + frameTiles.getHeight(lastRow - 1)) * width * 4;
+            PixelUtils.copy(frame, prevFrame, offset, end - offset);
+            return true;
+        });
+    }
+
+    /**
+     * Detect changed tiles of the read frame and update the previous frame by them.
+     *
+     * @param frame     the read frame.
+     * @param prevFrame the previous frame.
+     * @return true if any tile was changed.
+     */
+    protected boolean detectChangedTiles(@NotNull ByteBuffer frame, @NotNull ByteBuffer prevFrame) {
+
+        // revealed tiles are changed in any case
+        System.arraycopy(revealedTiles, 0, changedTiles, 0, changedTiles.length);
+
+        var revealed = !FrameTiles.isEmpty(revealedTiles);
+
+        if (!isParallel()) {
+            return detectChangedTiles(frame, prevFrame, changedTiles, 0, frameTiles.getRows()) || revealed;
+        }
+
+        var rows = frameTiles.getRows();
+
+        if (bandTiles == null) {
+            bandTiles = new long[FrameBandExecutor.getBandCount(rows)][];
+            for (int i = 0; i < bandTiles.length; i++) {
+                bandTiles[i] = frameTiles.newMask();
             }
         }
 
-        synchronized (byteBuffer) {
-            frameByteBuffer.get(byteBuffer);
+        var bandTiles = this.bandTiles;
+
+        // neighboring bands can share words of a mask, so every band detects changes to its own mask
+        var changed = FrameBandExecutor.run(rows, (band, firstRow, lastRow) -> {
+            System.arraycopy(revealedTiles, 0, bandTiles[band], 0, revealedTiles.length);
+            return detectChangedTiles(frame, prevFrame, bandTiles[band], firstRow, lastRow);
+        });
+
+        for (var mask : bandTiles) {
+            for (int i = 0; i < mask.length; i++) {
+                changedTiles[i] |= mask[i];
+            }
+        }
+
+        return changed || revealed;
+    }
+
+    /**
+     * Detect changed tiles of the rows of the read frame and update the previous frame by them.
+     *
+     * @param frame     the read frame.
+     * @param prevFrame the previous frame.
+     * @param mask      the mask to store changed tiles.
+     * @param firstRow  the first row of tiles.
+     * @param lastRow   the row of tiles after the last row.
+     * @return true if any tile was changed.
+     */
+    protected boolean detectChangedTiles(
+            @NotNull ByteBuffer frame,
+            @NotNull ByteBuffer prevFrame,
+            @NotNull long[] mask,
+            int firstRow,
+            int lastRow
+    ) {
+
+        var columns = frameTiles.getColumns();
+        var changed = false;
+
+        for (int row = firstRow; row < lastRow; row++) {
+            for (int y = frameTiles.getY(row), last = y + frameTiles.getHeight(row); y < last; y++) {
+                for (int column = 0; column < columns; column++) {
+
+                    var tile = row * columns + column;
+
+                    if (!FrameTiles.isSet(readTiles, tile)) {
+                        continue;
+                    }
+
+                    var offset = (y * width + frameTiles.getX(column)) * 4;
+                    var length = frameTiles.getWidth(column) * 4;
+
+                    if (!FrameTiles.isSet(mask, tile)) {
 
-            if (transferMode == TransferMode.ON_CHANGES) {
+                        var mismatch = PixelUtils.mismatch(frame, prevFrame, offset, length);
 
-                final byte[] prevBuffer = getPrevImageByteBuffer();
+                        if (mismatch < 0) {
+                            continue;
+                        }
 
-                if (Arrays.equals(prevBuffer, byteBuffer)) {
-                    if (frameCount == 0) return;
-                } else {
-                    frameCount = 2;
-                    System.arraycopy(byteBuffer, 0, prevBuffer, 0, byteBuffer.length);
+                        FrameTiles.set(mask, tile);
+                        length -= mismatch - offset;
+                        offset = mismatch;
+                        changed = true;
+                    }
+
+                    PixelUtils.copy(frame, prevFrame, offset, length);
                 }
+            }
+        }
+
+        return changed;
+    }
 
-                frameByteBuffer.position(0);
-                frameCount--;
+    /**
+     * Convert changed and stale tiles of the read frame to the slot.
+     *
+     * @param frame the read frame.
+     * @param slot  the slot.
+     */
+    protected void convertTiles(@NotNull ByteBuffer frame, @NotNull FrameSlot slot) {
+
+        var staleTiles = slot.getStaleTiles();
+        var data = slot.getData();
+
+        if (isParallel()) {
+            FrameBandExecutor.run(frameTiles.getRows(), (band, firstRow, lastRow) -> {
+                convertTiles(frame, data, staleTiles, firstRow, lastRow);
+                return true;
+            });
+        } else {
+            convertTiles(frame, data, staleTiles, 0, frameTiles.getRows());
+        }
+
+        // the written slot is actual now, but other slots are stale in the changed tiles
+        for (var frameSlot : frameSlots) {
+            var mask = frameSlot.getStaleTiles();
+            for (int i = 0; i < mask.length; i++) {
+                mask[i] = frameSlot == slot ? 0 : mask[i] | changedTiles[i];
+            }
+        }
+    }
+
+    /**
+     * Convert changed and stale tiles of the rows of the read frame to the slot's data.
+     *
+     * @param frame      the read frame.
+     * @param data       the slot's data.
+     * @param staleTiles the stale tiles of the slot.
+     * @param firstRow   the first row of tiles.
+     * @param lastRow    the row of tiles after the last row.
+     */
+    protected void convertTiles(
+            @NotNull ByteBuffer frame,
+            @NotNull ByteBuffer data,
+            @NotNull long[] staleTiles,
+            int firstRow,
+            int lastRow
+    ) {
+
+        var columns = frameTiles.getColumns();
+
+        for (int row = firstRow; row < lastRow; row++) {
+            for (int column = 0; column < columns; column++) {
+
+                var tile = row * columns + column;
+
+                if (!FrameTiles.isSet(changedTiles, tile) && !FrameTiles.isSet(staleTiles, tile)) {
+                    continue;
+                }
+
+                var length = frameTiles.getWidth(column) * 4;
+
+                for (int y = frameTiles.getY(row), last = y + frameTiles.getHeight(row); y < last; y++) {
+                    convertRegion(frame, data, (y * width + frameTiles.getX(column)) * 4, length);
+                }
             }
         }
+    }
 
-        JfxPlatform.runInFxThread(this::writeFrame);
+    /**
+     * Convert the region of the read frame from RGBA to BGRA format or just copy it if it was already converted
+     * on GPU.
+     *
+     * @param source      the read frame.
+     * @param destination the slot's data.
+     * @param offset      the offset of the region.
+     * @param length      the length of the region.
+     */
+    protected void convertRegion(@NotNull ByteBuffer source, @NotNull ByteBuffer destination, int offset, int length) {
+        if (readback.isGpuConverted()) {
+            PixelUtils.copy(source, destination, offset, length);
+        } else {
+            PixelUtils.copyRgbaToBgra(source, destination, offset, length);
+        }
     }
 
     /**
-     * Write content to image.
+     * Write changed tiles of the newest frame to the destination.
      */
     protected void writeFrame() {
 
-        while (!imageState.compareAndSet(WAITING_STATE, RUNNING_STATE)) {
-            if (imageState.get() == DISPOSED_STATE) {
-                return;
-            }
+        if (!lifecycle.tryStartWriting()) {
+            return;
         }
 
         try {
 
-            var imageByteBuffer = getImageByteBuffer();
+            // frames published from now should be written by the next task
+            writeScheduled.set(false);
 
-            synchronized (byteBuffer) {
-                System.arraycopy(byteBuffer, 0, imageByteBuffer, 0, byteBuffer.length);
+            // pending tiles should be taken before the newest frame to not miss changes of the next frame
+            if (!frameTiles.drain(writtenTiles)) {
+                return;
             }
 
-            for (int i = 0, length = width * height * 4; i < length; i += 4) {
-                byte r = imageByteBuffer[i];
-                byte g = imageByteBuffer[i + 1];
-                byte b = imageByteBuffer[i + 2];
-                byte a = imageByteBuffer[i + 3];
-                imageByteBuffer[i] = b;
-                imageByteBuffer[i + 1] = g;
-                imageByteBuffer[i + 2] = r;
-                imageByteBuffer[i + 3] = a;
-            }
+            var startTime = System.nanoTime();
 
-            var pixelFormat = PixelFormat.getByteBgraInstance();
+            writeSlot(frameRing.acquireNewest(), writtenTiles);
 
-            pixelWriter.setPixels(0, 0, width, height, pixelFormat, imageByteBuffer, 0, width * 4);
+            writeTime = System.nanoTime() - startTime;
 
-        } finally {
-            if (!imageState.compareAndSet(RUNNING_STATE, WAITING_STATE)) {
-                throw new RuntimeException("unknown problem with the image state");
+            var writeListener = this.writeListener;
+
+            if (writeListener != null) {
+                writeListener.run();
             }
+
+        } finally {
+            lifecycle.finishWriting();
         }
     }
 
     /**
-     * Get the image byte buffer.
+     * Write the tiles of the slot to the destination, only for the FX thread.
      *
-     * @return the image byte buffer.
+     * @param slot  the slot with the newest frame.
+     * @param tiles the mask of tiles to write.
      */
-    protected @NotNull byte[] getImageByteBuffer() {
-        return imageByteBuffer;
+    protected void writeSlot(@NotNull FrameSlot slot, @NotNull long[] tiles) {
+        writeTiles(slot, tiles, notNull(pixelWriter));
     }
 
     /**
-     * Get the prev image byte buffer.
+     * Write the tiles of the slot by the pixel writer, only for the FX thread.
      *
-     * @return the prev image byte buffer.
+     * @param slot        the slot with the newest frame.
+     * @param tiles       the mask of tiles to write.
+     * @param pixelWriter the pixel writer.
      */
-    protected @NotNull byte[] getPrevImageByteBuffer() {
-        return prevImageByteBuffer;
+    protected void writeTiles(@NotNull FrameSlot slot, @NotNull long[] tiles, @NotNull PixelWriter pixelWriter) {
+
+        var data = slot.getData();
+        var columns = frameTiles.getColumns();
+        var pixelFormat = readback.isGpuConverted() ?
+                PixelFormat.getByteBgraPreInstance() : PixelFormat.getByteBgraInstance();
+
+        for (int row = 0, rows = frameTiles.getRows(); row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+
+                if (!FrameTiles.isSet(tiles, row * columns + column)) {
+                    continue;
+                }
+
+                // write neighboring changed tiles by one call
+                var first = column;
+
+                while (column + 1 < columns && FrameTiles.isSet(tiles, row * columns + column + 1)) {
+                    column++;
+                }
+
+                var x = frameTiles.getX(first);
+                var y = frameTiles.getY(row);
+                var regionWidth = frameTiles.getX(column) + frameTiles.getWidth(column) - x;
+                var region = data.duplicate().position((y * width + x) * 4);
+
+                pixelWriter.setPixels(x, y, regionWidth, frameTiles.getHeight(row), pixelFormat, region, width * 4);
+            }
+        }
     }
 
     @Override
     public void dispose() {
-        while (!frameState.compareAndSet(WAITING_STATE, DISPOSING_STATE)) ;
-        while (!imageState.compareAndSet(WAITING_STATE, DISPOSING_STATE)) ;
+
+        if (!lifecycle.isActive()) {
+            return;
+        }
+
+        var releasable = lifecycle.requestDispose();
+
         disposeImpl();
-        frameState.compareAndSet(DISPOSING_STATE, DISPOSED_STATE);
-        imageState.compareAndSet(DISPOSING_STATE, DISPOSED_STATE);
+
+        if (releasable) {
+            releaseSharedResources();
+        }
+    }
+
+    @Override
+    public boolean completeDispose() {
+
+        if (lifecycle.tryCompleteDispose()) {
+            releaseSharedResources();
+        }
+
+        return lifecycle.getState() == TransferLifecycle.State.DISPOSED;
+    }
+
+    @Override
+    public boolean awaitDispose(long timeout, @NotNull TimeUnit unit) {
+
+        if (lifecycle.awaitDispose(timeout, unit)) {
+            releaseSharedResources();
+        }
+
+        return lifecycle.getState() == TransferLifecycle.State.DISPOSED;
+    }
+
+    /**
+     * Release resources which are shared with the FX thread when it doesn't use them anymore.
+     */
+    protected void releaseSharedResources() {
+        stagingArena.release();
     }
 
     /**
-     * Dispose.
+     * Dispose resources which are used only in the render thread.
      */
     protected void disposeImpl() {
-        frameBuffer.dispose();
-        BufferUtils.destroyDirectBuffer(frameByteBuffer);
+        readback.dispose();
     }
 }
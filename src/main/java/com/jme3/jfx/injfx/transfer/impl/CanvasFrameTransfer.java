@@ -4,16 +4,38 @@ import com.jme3.jfx.injfx.processor.FrameTransferSceneProcessor.TransferMode;
 import com.jme3.texture.FrameBuffer;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * The class for transferring content from the jME to {@link Canvas}.
+ * <p>
+ * In the image backed mode frames are written to an internal image which is drawn to the whole canvas by one
+ * command after clearing it, so the command buffer of the canvas never accumulates frames and the image is scaled
+ * to the canvas's size. Otherwise frames are written by the pixel writer of the canvas.
  *
  * @author JavaSaBr
  */
 public class CanvasFrameTransfer extends AbstractFrameTransfer<Canvas> {
 
+    /**
+     * The canvas.
+     */
+    @NotNull
+    private final Canvas canvas;
+
+    /**
+     * True if frames are written to the internal image.
+     */
+    private final boolean imageBacked;
+
+    /**
+     * The internal image or null if it isn't created yet.
+     */
+    @Nullable
+    private WritableImage image;
+
     public CanvasFrameTransfer(@NotNull Canvas canvas, @NotNull TransferMode transferMode, int width, int height) {
         this(canvas, transferMode, null, width, height);
     }
@@ -24,17 +46,82 @@ public class CanvasFrameTransfer extends AbstractFrameTransfer<Canvas> {
             @Nullable FrameBuffer frameBuffer,
             int width,
             int height
+    ) {
+        this(canvas, transferMode, frameBuffer, width, height, true);
+    }
+
+    public CanvasFrameTransfer(
+            @NotNull Canvas canvas,
+            @NotNull TransferMode transferMode,
+            @Nullable FrameBuffer frameBuffer,
+            int width,
+            int height,
+            boolean imageBacked
     ) {
         super(canvas, transferMode, frameBuffer, width, height);
+        this.canvas = canvas;
+        this.imageBacked = imageBacked;
     }
 
     @Override
-    protected PixelWriter getPixelWriter(
+    protected @Nullable PixelWriter getPixelWriter(
             @NotNull Canvas destination,
             @NotNull FrameBuffer frameBuffer,
             int width,
             int height
     ) {
-        return destination.getGraphicsContext2D().getPixelWriter();
+        // the writer depends on the mode which isn't known yet
+        return null;
+    }
+
+    @Override
+    protected void writeSlot(@NotNull FrameSlot slot, @NotNull long[] tiles) {
+
+        if (!imageBacked) {
+            writeTiles(slot, tiles, canvas.getGraphicsContext2D().getPixelWriter());
+            return;
+        }
+
+        // the first written frame is always full
+        if (image == null) {
+            // images aren't pooled, because queued commands of the canvas can still draw the image after disposing
+            image = new WritableImage(getWidth(), getHeight());
+        }
+
+        writeTiles(slot, tiles, image.getPixelWriter());
+        drawImage();
+    }
+
+    /**
+     * Redraw the last written frame to the whole canvas, e.g. after resizing the canvas, only for the FX thread.
+     */
+    public void redraw() {
+
+        if (!imageBacked || !lifecycle.tryStartWriting()) {
+            return;
+        }
+
+        try {
+            drawImage();
+        } finally {
+            lifecycle.finishWriting();
+        }
+    }
+
+    private void drawImage() {
+
+        var image = this.image;
+
+        if (image == null) {
+            return;
+        }
+
+        var width = canvas.getWidth();
+        var height = canvas.getHeight();
+        var graphics = canvas.getGraphicsContext2D();
+
+        // clearing of the whole canvas resets its command buffer
+        graphics.clearRect(0, 0, width, height);
+        graphics.drawImage(image, 0, 0, width, height);
     }
 }
@@ -0,0 +1,434 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.jfx.injfx.transfer.FrameFormat;
+import com.jme3.jfx.injfx.transfer.FrameSink;
+import com.jme3.jfx.util.JfxPlatform;
+import com.jme3.texture.FrameBuffer;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerLevel;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The shared frame buffer which small view ports render to their own regions, so frames of all view ports are
+ * read from GPU by one reading per frame instead of one reading per view port.
+ * <p>
+ * Regions are packed by shelves, a released region is reused by a region of the same size and all space is
+ * reclaimed when all regions are released. The atlas is read after rendering of all view ports of the frame and
+ * only if some region requested its frame, read regions are split to the sinks which requested them. All methods
+ * must be called in the render thread.
+ *
+ * @author JavaSaBr
+ */
+public class FrameAtlas {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(JfxPlatform.class);
+
+    /**
+     * The region of the atlas.
+     */
+    public static class Region {
+
+        /**
+         * The atlas.
+         */
+        @NotNull
+        private final FrameAtlas atlas;
+
+        /**
+         * The sink which requested the frame of this region or null.
+         */
+        @Nullable
+        private FrameSink pendingSink;
+
+        /**
+         * The buffer of split frames or null if nothing was split yet.
+         */
+        @Nullable
+        private ByteBuffer frame;
+
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        /**
+         * The flag of using this region.
+         */
+        private boolean allocated;
+
+        private Region(@NotNull FrameAtlas atlas, int x, int y, int width, int height) {
+            this.atlas = atlas;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Gets the atlas.
+         *
+         * @return the atlas.
+         */
+        public @NotNull FrameAtlas getAtlas() {
+            return atlas;
+        }
+
+        /**
+         * Gets the left side of this region in pixels of the atlas.
+         *
+         * @return the left side.
+         */
+        public int getX() {
+            return x;
+        }
+
+        /**
+         * Gets the bottom side of this region in pixels of the atlas.
+         *
+         * @return the bottom side.
+         */
+        public int getY() {
+            return y;
+        }
+
+        /**
+         * Gets the width.
+         *
+         * @return the width.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the height.
+         *
+         * @return the height.
+         */
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Request the frame of this region which is rendered in the current frame, the sink receives it after
+         * rendering of all view ports.
+         *
+         * @param sink the sink of the frame.
+         */
+        public void requestFrame(@NotNull FrameSink sink) {
+            pendingSink = sink;
+        }
+
+        /**
+         * Cancel the requested frame.
+         */
+        public void cancelFrame() {
+            pendingSink = null;
+        }
+    }
+
+    /**
+     * The state to read the atlas after rendering of all view ports.
+     */
+    private class ReadState extends AbstractAppState {
+
+        @Override
+        public void postRender() {
+            readFrames();
+        }
+    }
+
+    /**
+     * The application.
+     */
+    @NotNull
+    private final Application application;
+
+    /**
+     * The pool of frame resources.
+     */
+    @NotNull
+    private final FrameResourcePool resourcePool;
+
+    /**
+     * The frame buffer of the atlas.
+     */
+    @NotNull
+    private final FrameBuffer frameBuffer;
+
+    /**
+     * The readback of the atlas.
+     */
+    @NotNull
+    private final FrameReadback readback;
+
+    /**
+     * The state to read the atlas.
+     */
+    @NotNull
+    private final ReadState readState;
+
+    /**
+     * All created regions.
+     */
+    @NotNull
+    private final List<Region> regions;
+
+    /**
+     * The sink to split read frames of the atlas.
+     */
+    @NotNull
+    private final FrameSink splitter;
+
+    /**
+     * The bottom side of the current shelf.
+     */
+    private int shelfY;
+
+    /**
+     * The height of the current shelf.
+     */
+    private int shelfHeight;
+
+    /**
+     * The right side of the last region in the current shelf.
+     */
+    private int shelfX;
+
+    /**
+     * The count of readings of the atlas.
+     */
+    private long readCount;
+
+    private final int width;
+    private final int height;
+
+    /**
+     * The flag of disposed atlas.
+     */
+    private boolean disposed;
+
+    public FrameAtlas(@NotNull Application application, int width, int height) {
+        this.application = application;
+        this.width = width;
+        this.height = height;
+        this.resourcePool = FrameResourcePool.getInstance();
+        this.frameBuffer = resourcePool.takeFrameBuffer(width, height);
+        this.readback = new FrameReadback(frameBuffer, width, height);
+        this.readState = new ReadState();
+        this.regions = new ArrayList<>();
+        this.splitter = this::splitFrame;
+        this.readback.initFor(application.getRenderer(), false);
+        this.application.getStateManager().attach(readState);
+    }
+
+    /**
+     * Gets the frame buffer of the atlas.
+     *
+     * @return the frame buffer.
+     */
+    public @NotNull FrameBuffer getFrameBuffer() {
+        return frameBuffer;
+    }
+
+    /**
+     * Gets the width.
+     *
+     * @return the width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height.
+     *
+     * @return the height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the count of readings of the atlas.
+     *
+     * @return the count of readings.
+     */
+    public long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * Allocate a region of the size.
+     *
+     * @param width  the width.
+     * @param height the height.
+     * @return the new region or null if the atlas doesn't have enough free space.
+     */
+    public @Nullable Region allocate(int width, int height) {
+
+        if (disposed || width > this.width || height > this.height) {
+            return null;
+        }
+
+        for (var region : regions) {
+            if (!region.allocated && region.width == width && region.height == height) {
+                region.allocated = true;
+                return region;
+            }
+        }
+
+        if (shelfX + width > this.width || height > shelfHeight) {
+
+            // start a new shelf
+            if (shelfX > 0 && shelfY + shelfHeight + height <= this.height) {
+                shelfY += shelfHeight;
+                shelfX = 0;
+                shelfHeight = height;
+            } else if (shelfX == 0 && shelfY + height <= this.height) {
+                shelfHeight = height;
+            } else {
+                return null;
+            }
+        }
+
+        var region = new Region(this, shelfX, shelfY, width, height);
+        region.allocated = true;
+
+        shelfX += width;
+        regions.add(region);
+
+        return region;
+    }
+
+    /**
+     * Release the region to be reused.
+     *
+     * @param region the region.
+     */
+    public void release(@NotNull Region region) {
+
+        if (region.atlas != this || !region.allocated) {
+            return;
+        }
+
+        region.allocated = false;
+        region.pendingSink = null;
+
+        if (region.frame != null) {
+            resourcePool.release(region.frame);
+            region.frame = null;
+        }
+
+        for (var other : regions) {
+            if (other.allocated) {
+                return;
+            }
+        }
+
+        // all space is free now
+        regions.clear();
+        shelfX = 0;
+        shelfY = 0;
+        shelfHeight = 0;
+    }
+
+    /**
+     * Read the atlas if any region requested its frame.
+     */
+    private void readFrames() {
+
+        if (disposed) {
+            return;
+        }
+
+        var requested = false;
+
+        for (var region : regions) {
+            requested |= region.pendingSink != null;
+        }
+
+        if (!requested) {
+            return;
+        }
+
+        readCount++;
+        readback.read(application.getRenderManager(), splitter);
+    }
+
+    private void splitFrame(
+            @NotNull ByteBuffer frame,
+            int width,
+            int height,
+            @NotNull FrameFormat format,
+            long sequence
+    ) {
+
+        for (var region : regions) {
+
+            var sink = region.pendingSink;
+
+            if (sink == null) {
+                continue;
+            }
+
+            region.pendingSink = null;
+
+            var size = region.width * region.height * 4;
+            var regionFrame = region.frame;
+
+            if (regionFrame == null) {
+                regionFrame = resourcePool.takeDirect(size);
+                region.frame = regionFrame;
+            }
+
+            var rowLength = region.width * 4;
+
+            regionFrame.clear();
+
+            // both frames have rows from bottom to top
+            for (int row = 0; row < region.height; row++) {
+                var offset = ((region.y + row) * width + region.x) * 4;
+                regionFrame.put(frame.duplicate().limit(offset + rowLength).position(offset));
+            }
+
+            sink.onFrame(regionFrame.clear().limit(size), region.width, region.height, format, sequence);
+        }
+    }
+
+    /**
+     * Dispose the atlas, regions of the atlas must not be used after that.
+     */
+    public void dispose() {
+
+        if (disposed) {
+            return;
+        }
+
+        if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
+            LOGGER.debug(this, "dispose the frame atlas after " + readCount + " readings.");
+        }
+
+        disposed = true;
+        application.getStateManager().detach(readState);
+
+        for (var region : regions) {
+            if (region.frame != null) {
+                resourcePool.release(region.frame);
+                region.frame = null;
+            }
+        }
+
+        regions.clear();
+        readback.dispose();
+        resourcePool.release(frameBuffer);
+    }
+}
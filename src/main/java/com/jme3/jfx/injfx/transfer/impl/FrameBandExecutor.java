@@ -0,0 +1,139 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The executor to process horizontal bands of frames concurrently on the shared bounded pool.
+ * <p>
+ * The pool's size can be configured by the system property 'jfx.frame.transfer.parallelism', frames which have
+ * less pixels than the system property 'jfx.frame.transfer.parallel.threshold' are processed in the calling thread.
+ *
+ * @author JavaSaBr
+ */
+public class FrameBandExecutor {
+
+    /**
+     * The task to process a band of rows of tiles.
+     */
+    @FunctionalInterface
+    public interface BandTask {
+
+        /**
+         * Process the band.
+         *
+         * @param band     the band's index.
+         * @param firstRow the first row of tiles of the band.
+         * @param lastRow  the row of tiles after the last row of the band.
+         * @return true if anything was changed in the band.
+         */
+        boolean process(int band, int firstRow, int lastRow);
+    }
+
+    /**
+     * The default min count of pixels in frames to process them concurrently.
+     */
+    public static final int DEFAULT_THRESHOLD = 2560 * 1440;
+
+    /**
+     * The size of the pool, the system property is read once.
+     */
+    private static final int PARALLELISM = Math.max(1, Integer.getInteger("jfx.frame.transfer.parallelism",
+            Math.min(8, Runtime.getRuntime().availableProcessors())));
+
+    /**
+     * The min count of pixels in frames to process them concurrently, the system property is read once.
+     */
+    private static final int THRESHOLD = Integer.getInteger("jfx.frame.transfer.parallel.threshold", DEFAULT_THRESHOLD);
+
+    private static final class PoolHolder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("JFX-Frame-Transfer-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Get the size of the pool.
+     *
+     * @return the size of the pool.
+     */
+    public static int getParallelism() {
+        return PARALLELISM;
+    }
+
+    /**
+     * Get the min count of pixels in frames to process them concurrently.
+     *
+     * @return the min count of pixels.
+     */
+    public static int getThreshold() {
+        return THRESHOLD;
+    }
+
+    /**
+     * Check of processing frames of the size concurrently.
+     *
+     * @param width  the width of frames.
+     * @param height the height of frames.
+     * @param rows   the count of rows of tiles.
+     * @return true if frames should be processed concurrently.
+     */
+    public static boolean isWorthy(int width, int height, int rows) {
+        return rows > 1 && PARALLELISM > 1 && (long) width * height >= THRESHOLD;
+    }
+
+    /**
+     * Get the count of bands to split the rows of tiles.
+     *
+     * @param rows the count of rows of tiles.
+     * @return the count of bands.
+     */
+    public static int getBandCount(int rows) {
+        return Math.max(1, Math.min(rows, PARALLELISM));
+    }
+
+    /**
+     * Process all bands concurrently and wait for finishing them.
+     *
+     * @param rows the count of rows of tiles.
+     * @param task the task to process a band.
+     * @return true if anything was changed in any band.
+     */
+    public static boolean run(int rows, @NotNull BandTask task) {
+
+        var bands = getBandCount(rows);
+        var tasks = new ArrayList<Callable<Boolean>>(bands);
+
+        for (int i = 0; i < bands; i++) {
+            var band = i;
+            var firstRow = rows * band / bands;
+            var lastRow = rows * (band + 1) / bands;
+            tasks.add(() -> task.process(band, firstRow, lastRow));
+        }
+
+        var result = false;
+
+        try {
+
+            for (var future : PoolHolder.POOL.invokeAll(tasks)) {
+                result |= future.get();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        return result;
+    }
+}
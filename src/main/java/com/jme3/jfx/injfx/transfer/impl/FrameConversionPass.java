@@ -0,0 +1,135 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.material.Material;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.shape.Quad;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import com.jme3.texture.Texture2D;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The final render pass which converts a frame to the format of JavaFX images on GPU.
+ * <p>
+ * The result is stored in BGRA byte order with premultiplied alpha and is already flipped by Y, so it can be
+ * written by a pixel writer with {@code PixelFormat.getByteBgraPreInstance()} without any CPU work.
+ *
+ * @author JavaSaBr
+ */
+public class FrameConversionPass {
+
+    public static final String MATERIAL_DEF = "com/jme3/jfx/injfx/shader/FrameConversion.j3md";
+
+    /**
+     * The camera to render the pass.
+     */
+    @NotNull
+    private final Camera camera;
+
+    /**
+     * The full screen quad.
+     */
+    @NotNull
+    private final Geometry quad;
+
+    /**
+     * The material of the pass.
+     */
+    @NotNull
+    private final Material material;
+
+    /**
+     * The frame buffer with the converted frame.
+     */
+    @NotNull
+    private final FrameBuffer targetBuffer;
+
+    /**
+     * The frame buffer to copy a source frame when the source doesn't have a color texture.
+     */
+    @Nullable
+    private FrameBuffer sourceBuffer;
+
+    /**
+     * The texture of the current source frame.
+     */
+    @Nullable
+    private Texture sourceTexture;
+
+    public FrameConversionPass(@NotNull AssetManager assetManager, int width, int height) {
+        this.camera = new Camera(width, height);
+        this.material = new Material(assetManager, MATERIAL_DEF);
+        this.material.getAdditionalRenderState().setDepthTest(false);
+        this.material.getAdditionalRenderState().setDepthWrite(false);
+        this.quad = new Geometry("Frame Conversion Quad", new Quad(1, 1));
+        this.quad.setMaterial(material);
+        this.quad.updateGeometricState();
+        this.targetBuffer = new FrameBuffer(width, height, 1);
+        this.targetBuffer.setColorBuffer(Image.Format.RGBA8);
+    }
+
+    /**
+     * Get the frame buffer with the converted frame.
+     *
+     * @return the frame buffer with the converted frame.
+     */
+    public @NotNull FrameBuffer getTargetBuffer() {
+        return targetBuffer;
+    }
+
+    /**
+     * Render the conversion of the source frame.
+     *
+     * @param renderManager the render manager.
+     * @param source        the source frame buffer.
+     * @return the frame buffer with the converted frame.
+     */
+    public @NotNull FrameBuffer render(@NotNull RenderManager renderManager, @NotNull FrameBuffer source) {
+
+        var renderer = renderManager.getRenderer();
+        var colorBuffer = source.getColorBuffer();
+        var texture = colorBuffer == null ? null : colorBuffer.getTexture();
+
+        if (texture == null) {
+
+            if (sourceBuffer == null) {
+                var texture2D = new Texture2D(source.getWidth(), source.getHeight(), Image.Format.RGBA8);
+                sourceBuffer = new FrameBuffer(source.getWidth(), source.getHeight(), 1);
+                sourceBuffer.setColorTexture(texture2D);
+            }
+
+            renderer.copyFrameBuffer(source, sourceBuffer, false);
+            texture = sourceBuffer.getColorBuffer().getTexture();
+        }
+
+        if (texture != sourceTexture) {
+            material.setTexture("Texture", texture);
+            sourceTexture = texture;
+        }
+
+        // the own camera makes the render manager to restore the viewport of the next rendered camera
+        renderManager.setCamera(camera, true);
+        renderer.setFrameBuffer(targetBuffer);
+        renderManager.renderGeometry(quad);
+
+        return targetBuffer;
+    }
+
+    /**
+     * Dispose all GPU resources of this pass, must be called in the render thread.
+     */
+    public void dispose() {
+
+        targetBuffer.dispose();
+
+        if (sourceBuffer != null) {
+            sourceBuffer.dispose();
+            sourceBuffer = null;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.asset.AssetManager;
+import com.jme3.jfx.injfx.transfer.FrameFormat;
+import com.jme3.jfx.injfx.transfer.FrameSink;
+import com.jme3.jfx.util.JfxPlatform;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Renderer;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Image;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The reading of frames from a jME frame buffer to direct buffers, works only in the render thread and doesn't
+ * depend on JavaFX.
+ * <p>
+ * Frames are read synchronously or by pixel buffer objects with some latency and can be converted on GPU before
+ * reading, every read frame is handed over to a {@link FrameSink}.
+ *
+ * @author JavaSaBr
+ */
+public class FrameReadback {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(JfxPlatform.class);
+
+    /**
+     * The pool of frame resources.
+     */
+    @NotNull
+    private final FrameResourcePool resourcePool;
+
+    /**
+     * The frame buffer to read.
+     */
+    @NotNull
+    private final FrameBuffer frameBuffer;
+
+    /**
+     * True if the frame buffer was taken from the pool by this readback.
+     */
+    private final boolean ownFrameBuffer;
+
+    /**
+     * The buffer of synchronously read frames or null if the buffer isn't taken yet.
+     */
+    @Nullable
+    private ByteBuffer frameByteBuffer;
+
+    /**
+     * The async reader of frames or null if frames are read synchronously.
+     */
+    @Nullable
+    private PboFrameReader pboFrameReader;
+
+    /**
+     * The pass to convert frames on GPU or null if frames are converted on CPU.
+     */
+    @Nullable
+    private FrameConversionPass conversionPass;
+
+    /**
+     * The asset manager to load the conversion pass or null if the pass is disabled.
+     */
+    @Nullable
+    private AssetManager conversionAssetManager;
+
+    /**
+     * The region of the shared atlas which is read by the atlas or null if frames are read by this readback.
+     */
+    @Nullable
+    private FrameAtlas.Region atlasRegion;
+
+    /**
+     * The region to read as [x, y, width, height].
+     */
+    @NotNull
+    private final int[] readRegion;
+
+    /**
+     * The read region of the last handed frame as [x, y, width, height].
+     */
+    @NotNull
+    private final int[] frameRegion;
+
+    /**
+     * The flag of supporting reading of regions by the renderer.
+     */
+    private boolean regionSupported;
+
+    /**
+     * How many frames the async reading can be behind or 0 to read frames synchronously.
+     */
+    private int readbackLatency;
+
+    /**
+     * The sequence number of the last read frame.
+     */
+    private long sequence;
+
+    /**
+     * The width.
+     */
+    private final int width;
+
+    /**
+     * The height.
+     */
+    private final int height;
+
+    /**
+     * Create a new readback.
+     *
+     * @param frameBuffer the frame buffer to read or null to take a new frame buffer from the pool.
+     * @param width       the width of frames.
+     * @param height      the height of frames.
+     */
+    public FrameReadback(@Nullable FrameBuffer frameBuffer, int width, int height) {
+        this.resourcePool = FrameResourcePool.getInstance();
+        this.ownFrameBuffer = frameBuffer == null;
+        this.width = width;
+        this.height = height;
+        this.frameBuffer = frameBuffer != null ? frameBuffer : resourcePool.takeFrameBuffer(width, height);
+        this.readRegion = new int[]{0, 0, width, height};
+        this.frameRegion = new int[]{0, 0, width, height};
+    }
+
+    /**
+     * Set how many frames the async reading of frames can be behind, must be called before {@link #initFor}.
+     *
+     * @param readbackLatency the count of frames or 0 to read frames synchronously.
+     */
+    public void setReadbackLatency(int readbackLatency) {
+        this.readbackLatency = readbackLatency;
+    }
+
+    /**
+     * Enable converting frames on GPU, must be called before {@link #initFor}.
+     *
+     * @param assetManager the asset manager to load the material of the pass.
+     */
+    public void enableGpuConversion(@NotNull AssetManager assetManager) {
+        this.conversionAssetManager = assetManager;
+    }
+
+    /**
+     * Set the region of the shared atlas which the view port renders to, frames of the region are read by one
+     * reading of the atlas and frames aren't converted on GPU, must be called before {@link #initFor}.
+     *
+     * @param atlasRegion the region of the atlas.
+     */
+    public void setAtlasRegion(@NotNull FrameAtlas.Region atlasRegion) {
+        this.atlasRegion = atlasRegion;
+    }
+
+    /**
+     * Set the region of frames to read, pixels of read frames outside of the region are undefined. The whole
+     * frames are read if the renderer can't read regions or the frame buffer is a shared atlas.
+     *
+     * @param x      the left side.
+     * @param y      the first row in read frames.
+     * @param width  the width.
+     * @param height the height.
+     */
+    public void setReadRegion(int x, int y, int width, int height) {
+        readRegion[0] = x;
+        readRegion[1] = y;
+        readRegion[2] = width;
+        readRegion[3] = height;
+    }
+
+    /**
+     * Get the read region of the last handed frame, only for the sink while it handles the frame.
+     *
+     * @return the region as [x, y, width, height].
+     */
+    public @NotNull int[] getFrameRegion() {
+        return frameRegion;
+    }
+
+    /**
+     * Init this readback for the render.
+     *
+     * @param renderer the render.
+     * @param main     true if the frame buffer should override the main frame buffer.
+     */
+    public void initFor(@NotNull Renderer renderer, boolean main) {
+
+        if (main) {
+            renderer.setMainFrameBufferOverride(frameBuffer);
+        }
+
+        // the atlas is read as is
+        if (atlasRegion != null) {
+            return;
+        }
+
+        regionSupported = PboFrameReader.isRegionSupported();
+
+        // frames of atlas regions are read by the atlas, so the buffer is taken only for own reading
+        frameByteBuffer = resourcePool.takeDirect(width * height * 4);
+
+        if (conversionAssetManager != null) {
+            conversionPass = new FrameConversionPass(conversionAssetManager, width, height);
+        }
+
+        if (readbackLatency < 1) {
+            return;
+        }
+
+        if (PboFrameReader.isSupported(renderer)) {
+            pboFrameReader = new PboFrameReader(width, height, readbackLatency);
+        } else {
+            LOGGER.warning(this, "Pixel buffer objects aren't supported, frames will be read synchronously.");
+        }
+    }
+
+    /**
+     * Gets the frame buffer to read.
+     *
+     * @return the frame buffer.
+     */
+    public @NotNull FrameBuffer getFrameBuffer() {
+        return frameBuffer;
+    }
+
+    /**
+     * Gets the width.
+     *
+     * @return the width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height.
+     *
+     * @return the height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Check of converting frames on GPU.
+     *
+     * @return true if frames are converted on GPU.
+     */
+    public boolean isGpuConverted() {
+        return conversionPass != null;
+    }
+
+    /**
+     * Check of skipping the last read, the current frame wasn't read because the GPU was too far behind.
+     *
+     * @return true if the last read was skipped.
+     */
+    public boolean isReadSkipped() {
+        return pboFrameReader != null && pboFrameReader.isSkipped();
+    }
+
+    /**
+     * Gets the format of read frames.
+     *
+     * @return the format of read frames.
+     */
+    public @NotNull FrameFormat getFormat() {
+        return conversionPass == null ? FrameFormat.RGBA : FrameFormat.BGRA_PRE;
+    }
+
+    /**
+     * Read the current frame and hand over the read frame to the sink, the handed frame can be behind the current
+     * frame when frames are read asynchronously or later after rendering of all view ports when the frame buffer is
+     * a shared atlas.
+     *
+     * @param renderManager the render manager.
+     * @param sink          the sink of the read frame.
+     * @return true if a frame was handed over to the sink.
+     */
+    public boolean read(@NotNull RenderManager renderManager, @NotNull FrameSink sink) {
+
+        if (atlasRegion != null) {
+            atlasRegion.requestFrame(sink);
+            return false;
+        }
+
+        var renderer = renderManager.getRenderer();
+        var readBuffer = conversionPass == null ? frameBuffer : conversionPass.render(renderManager, frameBuffer);
+        var region = regionSupported ? readRegion : frameRegion;
+
+        if (pboFrameReader != null && pboFrameReader.isFailed()) {
+            LOGGER.warning(this, "Waiting for pixel buffer objects failed, frames will be read synchronously.");
+            pboFrameReader.dispose();
+            pboFrameReader = null;
+        }
+
+        if (pboFrameReader == null) {
+
+            var frameByteBuffer = notNull(this.frameByteBuffer);
+            frameByteBuffer.clear().limit(width * height * 4);
+
+            if (region[2] == width && region[3] == height) {
+                renderer.readFrameBufferWithFormat(readBuffer, frameByteBuffer, Image.Format.RGBA8);
+            } else {
+                PboFrameReader.readRegion(renderer, readBuffer, frameByteBuffer, width, region);
+            }
+
+            System.arraycopy(region, 0, frameRegion, 0, 4);
+
+            frameByteBuffer.clear().limit(width * height * 4);
+            sink.onFrame(frameByteBuffer, width, height, getFormat(), ++sequence);
+            return true;
+        }
+
+        var frame = pboFrameReader.read(renderer, readBuffer, region);
+
+        if (frame == null) {
+            // the failed reader is replaced by synchronous reading
+            return pboFrameReader.isFailed() && read(renderManager, sink);
+        }
+
+        System.arraycopy(pboFrameReader.getMappedRegion(), 0, frameRegion, 0, 4);
+
+        try {
+            sink.onFrame(frame, width, height, getFormat(), ++sequence);
+        } finally {
+            pboFrameReader.release();
+        }
+
+        return true;
+    }
+
+    /**
+     * Dispose GPU resources and buffers of this readback, must be called in the render thread.
+     */
+    public void dispose() {
+
+        if (atlasRegion != null) {
+            atlasRegion.cancelFrame();
+        }
+
+        if (conversionPass != null) {
+            conversionPass.dispose();
+            conversionPass = null;
+        }
+
+        if (pboFrameReader != null) {
+            pboFrameReader.dispose();
+            pboFrameReader = null;
+        }
+
+        // a frame buffer of a view port is owned by its processor
+        if (ownFrameBuffer) {
+            resourcePool.release(frameBuffer);
+        }
+
+        if (frameByteBuffer != null) {
+            resourcePool.release(frameByteBuffer);
+            frameByteBuffer = null;
+        }
+    }
+}
@@ -0,0 +1,556 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.jfx.injfx.transfer.FrameFormat;
+import com.jme3.jfx.injfx.transfer.FrameSink;
+import com.jme3.jfx.util.JfxPlatform;
+import com.jme3.jfx.util.PixelUtils;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The recorder of read frames to a directory, frames are copied in the render thread and are written by its own
+ * writer thread, so recording doesn't stall rendering.
+ * <p>
+ * The count of frames which can wait for writing is bounded by the queue capacity, when the queue is full new
+ * frames are dropped or the render thread waits for a free place depending on the policy. Frames are written to
+ * the end of the raw file 'frames.raw' or are encoded to PNG files. Every written
+ * frame is described by a line of the index file 'index.csv': the sequence number, the timestamp in nanoseconds
+ * from the start of recording, the size, the format and the location of the frame.
+ *
+ * @author JavaSaBr
+ */
+public class FrameRecorder implements FrameSink, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(JfxPlatform.class);
+
+    /**
+     * The policies of handling frames when the queue is full.
+     */
+    public enum Policy {
+
+        /**
+         * Drop new frames until the writer frees a place in the queue.
+         */
+        DROP,
+
+        /**
+         * Wait in the render thread until the writer frees a place in the queue, no frames are lost.
+         */
+        BLOCK,
+
+        /**
+         * Record only every N-th frame and drop it when the queue is full.
+         */
+        SAMPLE
+    }
+
+    /**
+     * The outputs of recorded frames.
+     */
+    public enum Output {
+
+        /**
+         * Frames are written as is to the raw file.
+         */
+        RAW,
+
+        /**
+         * Frames are encoded to PNG files in RGBA order with rows from top to bottom.
+         */
+        PNG
+    }
+
+    /**
+     * The name of the raw file.
+     */
+    public static final String RAW_FILE = "frames.raw";
+
+    /**
+     * The name of the index file.
+     */
+    public static final String INDEX_FILE = "index.csv";
+
+    /**
+     * The captured frame which is waiting for writing.
+     */
+    private static class CapturedFrame {
+
+        /**
+         * The copy of the frame or null if nothing was captured yet.
+         */
+        @Nullable
+        private ByteBuffer data;
+
+        @Nullable
+        private FrameFormat format;
+
+        private int width;
+        private int height;
+        private long sequence;
+        private long timestamp;
+    }
+
+    /**
+     * The marker of the end of recording in the queue.
+     */
+    private static final CapturedFrame END = new CapturedFrame();
+
+    /**
+     * The pool of buffers of captured frames.
+     */
+    @NotNull
+    private final FrameResourcePool resourcePool;
+
+    /**
+     * The captured frames which are free to capture new frames.
+     */
+    @NotNull
+    private final BlockingQueue<CapturedFrame> freeFrames;
+
+    /**
+     * The captured frames which are waiting for writing.
+     */
+    @NotNull
+    private final BlockingQueue<CapturedFrame> pendingFrames;
+
+    /**
+     * The lock of enqueueing captured frames and the end of recording.
+     */
+    @NotNull
+    private final Object queueLock;
+
+    /**
+     * The writer thread.
+     */
+    @NotNull
+    private final Thread writer;
+
+    /**
+     * The directory of recorded files.
+     */
+    @NotNull
+    private final Path directory;
+
+    /**
+     * The index of recorded frames.
+     */
+    @NotNull
+    private final BufferedWriter index;
+
+    @NotNull
+    private final Output output;
+
+    @NotNull
+    private final Policy policy;
+
+    /**
+     * The count of received frames.
+     */
+    @NotNull
+    private final AtomicLong receivedFrames;
+
+    /**
+     * The count of written frames.
+     */
+    @NotNull
+    private final AtomicLong recordedFrames;
+
+    /**
+     * The count of frames which were dropped because the queue was full.
+     */
+    @NotNull
+    private final AtomicLong droppedFrames;
+
+    /**
+     * The interval of recorded frames for the {@link Policy#SAMPLE} policy.
+     */
+    private final int sampleInterval;
+
+    /**
+     * The time of the start of recording.
+     */
+    private final long startTime;
+
+    /**
+     * The raw file or null if frames are encoded to PNG, only for the writer thread.
+     */
+    @Nullable
+    private FileChannel rawFile;
+
+    /**
+     * The size of written data of the raw file, only for the writer thread.
+     */
+    private long rawSize;
+
+    /**
+     * The image to encode frames to PNG, only for the writer thread.
+     */
+    @Nullable
+    private BufferedImage image;
+
+    /**
+     * The flag of stopped capturing of new frames.
+     */
+    private volatile boolean closed;
+
+    /**
+     * The flag of failed writing of frames.
+     */
+    private volatile boolean failed;
+
+    public FrameRecorder(@NotNull Path directory, @NotNull Output output) throws IOException {
+        this(directory, output, Policy.DROP, 1, getDefaultQueueCapacity());
+    }
+
+    /**
+     * Create and start a new recorder.
+     *
+     * @param directory      the directory of recorded files.
+     * @param output         the output of frames.
+     * @param policy         the policy of handling frames when the queue is full.
+     * @param sampleInterval the interval of recorded frames for the {@link Policy#SAMPLE} policy.
+     * @param queueCapacity  the max count of frames which can wait for writing.
+     * @throws IOException if the files of recording can't be created.
+     */
+    public FrameRecorder(
+            @NotNull Path directory,
+            @NotNull Output output,
+            @NotNull Policy policy,
+            int sampleInterval,
+            int queueCapacity
+    ) throws IOException {
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("the queue capacity should be at least 1.");
+        } else if (sampleInterval < 1) {
+            throw new IllegalArgumentException("the sample interval should be at least 1.");
+        }
+
+        Files.createDirectories(directory);
+
+        this.directory = directory;
+        this.output = output;
+        this.policy = policy;
+        this.sampleInterval = sampleInterval;
+        this.resourcePool = FrameResourcePool.getInstance();
+        this.freeFrames = new ArrayBlockingQueue<>(queueCapacity);
+        this.pendingFrames = new ArrayBlockingQueue<>(queueCapacity + 1);
+        this.queueLock = new Object();
+        this.receivedFrames = new AtomicLong();
+        this.recordedFrames = new AtomicLong();
+        this.droppedFrames = new AtomicLong();
+        this.startTime = System.nanoTime();
+
+        for (int i = 0; i < queueCapacity; i++) {
+            freeFrames.add(new CapturedFrame());
+        }
+
+        if (output == Output.RAW) {
+            this.rawFile = FileChannel.open(directory.resolve(RAW_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        this.index = Files.newBufferedWriter(directory.resolve(INDEX_FILE));
+        this.index.write("sequence,timestamp,width,height,format,location,length");
+        this.index.newLine();
+
+        this.writer = new Thread(this::writeFrames, "JFX-Frame-Recorder");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Gets the default capacity of the queue from the system property 'jfx.frame.recorder.queue'.
+     *
+     * @return the default capacity of the queue.
+     */
+    public static int getDefaultQueueCapacity() {
+        return Math.max(1, Integer.parseInt(System.getProperty("jfx.frame.recorder.queue", "4")));
+    }
+
+    /**
+     * Get the directory of recorded files.
+     *
+     * @return the directory.
+     */
+    public @NotNull Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Get the count of written frames.
+     *
+     * @return the count of written frames.
+     */
+    public long getRecordedFrames() {
+        return recordedFrames.get();
+    }
+
+    /**
+     * Get the count of frames which were dropped because the writer didn't keep up.
+     *
+     * @return the count of dropped frames.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Check of closed recording, recording is closed also when frames can't be written.
+     *
+     * @return true if recording is closed.
+     */
+    public boolean isClosed() {
+        return closed || failed;
+    }
+
+    @Override
+    public void onFrame(@NotNull ByteBuffer frame, int width, int height, @NotNull FrameFormat format, long sequence) {
+
+        if (closed || failed) {
+            return;
+        }
+
+        var received = receivedFrames.getAndIncrement();
+
+        if (policy == Policy.SAMPLE && received % sampleInterval != 0) {
+            return;
+        }
+
+        var captured = policy == Policy.BLOCK ? takeFreeFrame() : freeFrames.poll();
+
+        if (captured == null) {
+            droppedFrames.incrementAndGet();
+            return;
+        }
+
+        var size = frame.remaining();
+        var data = captured.data;
+
+        if (data == null || data.capacity() < size) {
+
+            if (data != null) {
+                resourcePool.release(data);
+            }
+
+            data = resourcePool.takeDirect(size);
+            captured.data = data;
+        }
+
+        data.clear().limit(size);
+
+        PixelUtils.copy(frame, data, 0, size);
+
+        captured.width = width;
+        captured.height = height;
+        captured.format = format;
+        captured.sequence = sequence;
+        captured.timestamp = System.nanoTime() - startTime;
+
+        // a frame which is enqueued after the end of recording would never be written
+        synchronized (queueLock) {
+            if (!closed) {
+                pendingFrames.add(captured);
+                return;
+            }
+        }
+
+        resourcePool.release(data);
+        captured.data = null;
+    }
+
+    private @Nullable CapturedFrame takeFreeFrame() {
+        try {
+            return freeFrames.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void writeFrames() {
+        while (true) {
+
+            CapturedFrame captured;
+            try {
+                captured = pendingFrames.take();
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (captured == END) {
+                break;
+            }
+
+            if (!failed) {
+                try {
+                    writeFrame(captured);
+                    recordedFrames.incrementAndGet();
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.warning(this, e);
+                    failed = true;
+                }
+            }
+
+            // the render thread can wait for this frame
+            freeFrames.add(captured);
+        }
+
+        finishWriting();
+    }
+
+    private void writeFrame(@NotNull CapturedFrame captured) throws IOException {
+
+        var data = notNull(captured.data);
+        var size = data.remaining();
+        String location;
+
+        if (output == Output.RAW) {
+            location = String.valueOf(rawSize);
+            writeRaw(data);
+        } else {
+            location = String.format("frame-%08d.png", captured.sequence);
+            writePng(captured, data, directory.resolve(location));
+        }
+
+        index.write(captured.sequence + "," + captured.timestamp + "," + captured.width + "," + captured.height +
+                "," + captured.format + "," + location + "," + size);
+        index.newLine();
+    }
+
+    private void writeRaw(@NotNull ByteBuffer data) throws IOException {
+
+        var rawFile = notNull(this.rawFile);
+        var buffer = data.duplicate();
+
+        // the file isn't mapped, so it never has to be truncated and can't be left padded
+        rawSize += buffer.remaining();
+
+        while (buffer.hasRemaining()) {
+            rawFile.write(buffer);
+        }
+    }
+
+    private void writePng(@NotNull CapturedFrame captured, @NotNull ByteBuffer data, @NotNull Path file)
+            throws IOException {
+
+        var width = captured.width;
+        var height = captured.height;
+        var image = this.image;
+
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            this.image = image;
+        }
+
+        var pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        var bottomUp = captured.format == FrameFormat.RGBA;
+
+        for (int y = 0; y < height; y++) {
+
+            var sourceRow = bottomUp ? height - 1 - y : y;
+
+            for (int x = 0, offset = sourceRow * width * 4; x < width; x++, offset += 4) {
+                pixels[y * width + x] = bottomUp ?
+                        rgbaToArgb(data, offset) : bgraPreToArgb(data, offset);
+            }
+        }
+
+        ImageIO.write(image, "png", file.toFile());
+    }
+
+    private static int rgbaToArgb(@NotNull ByteBuffer data, int offset) {
+        var r = data.get(offset) & 0xFF;
+        var g = data.get(offset + 1) & 0xFF;
+        var b = data.get(offset + 2) & 0xFF;
+        var a = data.get(offset + 3) & 0xFF;
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    private static int bgraPreToArgb(@NotNull ByteBuffer data, int offset) {
+
+        var b = data.get(offset) & 0xFF;
+        var g = data.get(offset + 1) & 0xFF;
+        var r = data.get(offset + 2) & 0xFF;
+        var a = data.get(offset + 3) & 0xFF;
+
+        if (a != 0 && a != 0xFF) {
+            r = Math.min(0xFF, (r * 0xFF + a / 2) / a);
+            g = Math.min(0xFF, (g * 0xFF + a / 2) / a);
+            b = Math.min(0xFF, (b * 0xFF + a / 2) / a);
+        }
+
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    private void finishWriting() {
+
+        try {
+            index.close();
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+        }
+
+        if (rawFile == null) {
+            return;
+        }
+
+        try {
+            rawFile.close();
+        } catch (IOException e) {
+            LOGGER.warning(this, e);
+        }
+    }
+
+    /**
+     * Stop recording, wait for writing of captured frames and close the files.
+     */
+    @Override
+    public void close() {
+
+        if (!writer.isAlive()) {
+            return;
+        }
+
+        synchronized (queueLock) {
+            closed = true;
+            pendingFrames.add(END);
+        }
+
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (var captured : freeFrames) {
+            if (captured.data != null) {
+                resourcePool.release(captured.data);
+                captured.data = null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FrameRecorder{directory=" + directory + ", output=" + output + ", policy=" + policy + "}";
+    }
+}
@@ -0,0 +1,280 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture2D;
+import com.jme3.util.BufferUtils;
+import com.ss.rlib.common.logging.Logger;
+import com.ss.rlib.common.logging.LoggerLevel;
+import com.ss.rlib.common.logging.LoggerManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The pool of frame resources to reuse them between reshapes of frame transfers.
+ * <p>
+ * Buffers are pooled by buckets of rounded capacities and are returned with the limit of the requested size, so
+ * resizing of a view by small steps reuses the same buffers. Frame buffers can't be resized, so they are pooled
+ * by exact sizes. JavaFX images aren't pooled, because they can be still shown by their views. The pool retains
+ * resources up to the system property 'jfx.frame.pool.size' in MB.
+ * <p>
+ * Frame buffers belong to the GL context which is current in the render thread, so they should be taken and
+ * released only in the render thread and are pooled separately for each render thread. Frame buffers of finished
+ * render threads are dropped, because their contexts are already destroyed.
+ *
+ * @author JavaSaBr
+ */
+public class FrameResourcePool {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(FrameResourcePool.class);
+
+    private static final FrameResourcePool INSTANCE = new FrameResourcePool();
+
+    public static @NotNull FrameResourcePool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The max count of pooled resources of the same size.
+     */
+    private static final int MAX_PER_SIZE = 6;
+
+    /**
+     * The min step of buckets of buffers.
+     */
+    private static final int MIN_BUCKET_STEP = 64 * 1024;
+
+    /**
+     * The pooled direct buffers by capacities.
+     */
+    @NotNull
+    private final Map<Integer, ArrayDeque<ByteBuffer>> directBuffers;
+
+    /**
+     * The pooled frame buffers by render threads and sizes.
+     */
+    @NotNull
+    private final Map<Thread, Map<Long, ArrayDeque<FrameBuffer>>> frameBuffers;
+
+    /**
+     * The count of requests which were served by pooled resources.
+     */
+    @NotNull
+    private final AtomicLong hits;
+
+    /**
+     * The count of requests which needed new resources.
+     */
+    @NotNull
+    private final AtomicLong misses;
+
+    /**
+     * The max size of retained resources in bytes.
+     */
+    private final long maxRetainedBytes;
+
+    /**
+     * The size of retained resources in bytes.
+     */
+    private long retainedBytes;
+
+    private FrameResourcePool() {
+        this.directBuffers = new HashMap<>();
+        this.frameBuffers = new HashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.maxRetainedBytes = Long.parseLong(System.getProperty("jfx.frame.pool.size", "256")) * 1024 * 1024;
+    }
+
+    /**
+     * Get the capacity of the bucket for the size, buckets are rounded to 1/8 of the highest power of two.
+     *
+     * @param size the size.
+     * @return the capacity of the bucket.
+     */
+    public static int getBucketCapacity(int size) {
+        var step = Math.max(MIN_BUCKET_STEP, Integer.highestOneBit(Math.max(1, size)) / 8);
+        return (int) Math.min(Integer.MAX_VALUE, ((long) size + step - 1) / step * step);
+    }
+
+    /**
+     * Take a direct buffer in little endian byte order.
+     *
+     * @param size the size of the buffer.
+     * @return the direct buffer with the limit of the size.
+     */
+    public @NotNull ByteBuffer takeDirect(int size) {
+
+        var buffer = take(directBuffers, getBucketCapacity(size));
+
+        if (buffer == null) {
+            buffer = BufferUtils.createByteBuffer(getBucketCapacity(size));
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN).clear().limit(size);
+
+        return buffer;
+    }
+
+    /**
+     * Take a frame buffer with a RGBA8 color texture and a depth buffer, only for the render thread.
+     *
+     * @param width  the width.
+     * @param height the height.
+     * @return the frame buffer.
+     */
+    public @NotNull FrameBuffer takeFrameBuffer(int width, int height) {
+
+        var frameBuffer = take(getFrameBuffers(), toKey(width, height));
+
+        if (frameBuffer == null) {
+            frameBuffer = new FrameBuffer(width, height, 1);
+            frameBuffer.setDepthBuffer(Image.Format.Depth);
+            frameBuffer.setColorTexture(new Texture2D(width, height, Image.Format.RGBA8));
+            frameBuffer.setSrgb(true);
+        }
+
+        return frameBuffer;
+    }
+
+    /**
+     * Release the direct buffer which was taken from this pool.
+     *
+     * @param buffer the direct buffer.
+     */
+    public void release(@NotNull ByteBuffer buffer) {
+        if (!put(directBuffers, buffer.capacity(), buffer, buffer.capacity())) {
+            BufferUtils.destroyDirectBuffer(buffer);
+        }
+    }
+
+    /**
+     * Release the frame buffer which was taken from this pool, only for the render thread.
+     *
+     * @param frameBuffer the frame buffer.
+     */
+    public void release(@NotNull FrameBuffer frameBuffer) {
+
+        var width = frameBuffer.getWidth();
+        var height = frameBuffer.getHeight();
+
+        // color and depth
+        if (!put(getFrameBuffers(), toKey(width, height), frameBuffer, (long) width * height * 8)) {
+            frameBuffer.dispose();
+        }
+    }
+
+    /**
+     * Get the count of requests which were served by pooled resources.
+     *
+     * @return the count of hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the count of requests which needed new resources.
+     *
+     * @return the count of misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the size of retained resources.
+     *
+     * @return the size in bytes.
+     */
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Get the pooled frame buffers of the current render thread and drop frame buffers of finished render threads.
+     *
+     * @return the pooled frame buffers by sizes.
+     */
+    private synchronized @NotNull Map<Long, ArrayDeque<FrameBuffer>> getFrameBuffers() {
+
+        for (var iterator = frameBuffers.entrySet().iterator(); iterator.hasNext(); ) {
+
+            var entry = iterator.next();
+
+            if (entry.getKey().isAlive()) {
+                continue;
+            }
+
+            for (var resources : entry.getValue().values()) {
+                for (var frameBuffer : resources) {
+                    retainedBytes -= getSize(frameBuffer);
+                }
+            }
+
+            iterator.remove();
+        }
+
+        return frameBuffers.computeIfAbsent(Thread.currentThread(), thread -> new HashMap<>());
+    }
+
+    private synchronized <K, V> V take(@NotNull Map<K, ArrayDeque<V>> pool, @NotNull K key) {
+
+        var resources = pool.get(key);
+        var resource = resources == null ? null : resources.pollLast();
+
+        if (resource == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        retainedBytes -= getSize(resource);
+        hits.incrementAndGet();
+
+        return resource;
+    }
+
+    private synchronized <K, V> boolean put(
+            @NotNull Map<K, ArrayDeque<V>> pool,
+            @NotNull K key,
+            @NotNull V resource,
+            long size
+    ) {
+
+        var resources = pool.computeIfAbsent(key, k -> new ArrayDeque<>());
+
+        if (resources.size() >= MAX_PER_SIZE || retainedBytes + size > maxRetainedBytes) {
+
+            if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
+                LOGGER.debug(this, "the pool is full, " + resource + " won't be reused.");
+            }
+
+            return false;
+        }
+
+        retainedBytes += size;
+        resources.addLast(resource);
+
+        return true;
+    }
+
+    private static long getSize(@NotNull Object resource) {
+
+        if (resource instanceof ByteBuffer) {
+            return ((ByteBuffer) resource).capacity();
+        } else {
+            var frameBuffer = (FrameBuffer) resource;
+            return (long) frameBuffer.getWidth() * frameBuffer.getHeight() * 8;
+        }
+    }
+
+    private static long toKey(int width, int height) {
+        return ((long) width << 32) | height;
+    }
+}
@@ -0,0 +1,124 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The lock-free triple buffer to hand frames over from one producer thread to one consumer thread.
+ * <p>
+ * The producer always owns the 'back' slot, the consumer always owns the 'front' slot and the third slot
+ * is exchanged between them through an atomic index, so neither thread ever blocks or waits for the other.
+ *
+ * @param <B> the slot's type.
+ * @author JavaSaBr
+ */
+public class FrameRing<B> {
+
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH_BIT = 0b100;
+
+    /**
+     * The slots.
+     */
+    @NotNull
+    private final Object[] slots;
+
+    /**
+     * The index of the exchanged slot with the flag of containing an unconsumed frame.
+     */
+    @NotNull
+    private final AtomicInteger middle;
+
+    /**
+     * The index of the slot owned by the producer.
+     */
+    private int back;
+
+    /**
+     * The index of the slot owned by the consumer.
+     */
+    private int front;
+
+    /**
+     * The index of the last published slot, only for the producer.
+     */
+    private int lastPublished;
+
+    public FrameRing(@NotNull B first, @NotNull B second, @NotNull B third) {
+        this.slots = new Object[]{first, second, third};
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+        this.lastPublished = -1;
+    }
+
+    /**
+     * Get the slot to write a new frame, only for the producer.
+     *
+     * @return the slot to write.
+     */
+    public @NotNull B getWriteSlot() {
+        return slot(back);
+    }
+
+    /**
+     * Get the last published slot, only for the producer. The content of this slot isn't changed until the next
+     * publishing so it can be used to compare with a new frame.
+     *
+     * @return the last published slot or null.
+     */
+    public @Nullable B getLastPublished() {
+        return lastPublished < 0 ? null : slot(lastPublished);
+    }
+
+    /**
+     * Publish the written slot, only for the producer.
+     *
+     * @return false if the previous published frame wasn't consumed and was replaced.
+     */
+    public boolean publish() {
+        var prev = middle.getAndSet(back | FRESH_BIT);
+        lastPublished = back;
+        back = prev & INDEX_MASK;
+        return (prev & FRESH_BIT) == 0;
+    }
+
+    /**
+     * Check of existing an unconsumed frame.
+     *
+     * @return true if there is an unconsumed frame.
+     */
+    public boolean hasFreshFrame() {
+        return (middle.get() & FRESH_BIT) != 0;
+    }
+
+    /**
+     * Take the newest published frame if it exists, only for the consumer.
+     *
+     * @return the slot with the newest frame.
+     */
+    public @NotNull B acquireNewest() {
+
+        if (hasFreshFrame()) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+
+        return slot(front);
+    }
+
+    /**
+     * Get the slot owned by the consumer.
+     *
+     * @return the slot owned by the consumer.
+     */
+    public @NotNull B getReadSlot() {
+        return slot(front);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull B slot(int index) {
+        return (B) slots[index];
+    }
+}
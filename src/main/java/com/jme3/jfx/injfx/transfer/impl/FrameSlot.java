@@ -0,0 +1,48 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The slot of a frame ring which contains a converted frame.
+ *
+ * @author JavaSaBr
+ */
+public class FrameSlot {
+
+    /**
+     * The converted frame.
+     */
+    @NotNull
+    private final ByteBuffer data;
+
+    /**
+     * The mask of tiles which were changed since this slot was written the last time.
+     */
+    @NotNull
+    private final long[] staleTiles;
+
+    public FrameSlot(@NotNull ByteBuffer data, @NotNull long[] staleTiles) {
+        this.data = data;
+        this.staleTiles = staleTiles;
+    }
+
+    /**
+     * Get the converted frame.
+     *
+     * @return the converted frame.
+     */
+    public @NotNull ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+     * Get the mask of tiles which were changed since this slot was written the last time.
+     *
+     * @return the mask of stale tiles.
+     */
+    public @NotNull long[] getStaleTiles() {
+        return staleTiles;
+    }
+}
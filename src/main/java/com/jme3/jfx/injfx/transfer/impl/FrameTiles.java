@@ -0,0 +1,249 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The grid of tiles of a frame with the lock-free mask of tiles which are waiting to be written by the FX thread.
+ *
+ * @author JavaSaBr
+ */
+public class FrameTiles {
+
+    /**
+     * The default size of tiles.
+     */
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    /**
+     * Get the size of tiles from the system property 'jfx.frame.transfer.tile.size'.
+     *
+     * @return the size of tiles.
+     */
+    public static int getTileSize() {
+        var size = System.getProperty("jfx.frame.transfer.tile.size", String.valueOf(DEFAULT_TILE_SIZE));
+        return Math.max(8, Integer.parseInt(size));
+    }
+
+    /**
+     * Check the tile in the mask.
+     *
+     * @param mask the mask.
+     * @param tile the tile's index.
+     * @return true if the tile is set in the mask.
+     */
+    public static boolean isSet(@NotNull long[] mask, int tile) {
+        return (mask[tile >>> 6] & (1L << tile)) != 0;
+    }
+
+    /**
+     * Set the tile in the mask.
+     *
+     * @param mask the mask.
+     * @param tile the tile's index.
+     */
+    public static void set(@NotNull long[] mask, int tile) {
+        mask[tile >>> 6] |= 1L << tile;
+    }
+
+    /**
+     * Check of existing any set tile in the mask.
+     *
+     * @param mask the mask.
+     * @return true if the mask has any set tile.
+     */
+    public static boolean isEmpty(@NotNull long[] mask) {
+
+        for (var word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The mask of tiles which are waiting to be written.
+     */
+    @NotNull
+    private final AtomicLongArray pending;
+
+    /**
+     * The width of the frame.
+     */
+    private final int width;
+
+    /**
+     * The height of the frame.
+     */
+    private final int height;
+
+    /**
+     * The size of tiles.
+     */
+    private final int tileSize;
+
+    /**
+     * The count of columns.
+     */
+    private final int columns;
+
+    /**
+     * The count of rows.
+     */
+    private final int rows;
+
+    public FrameTiles(int width, int height, int tileSize) {
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.columns = (width + tileSize - 1) / tileSize;
+        this.rows = (height + tileSize - 1) / tileSize;
+        this.pending = new AtomicLongArray(newMask().length);
+    }
+
+    /**
+     * Create a new empty mask of tiles.
+     *
+     * @return the new mask.
+     */
+    public @NotNull long[] newMask() {
+        return new long[(columns * rows + 63) >>> 6];
+    }
+
+    /**
+     * Set all tiles in the mask.
+     *
+     * @param mask the mask.
+     */
+    public void setAll(@NotNull long[] mask) {
+        Arrays.fill(mask, 0);
+        for (int tile = 0, count = columns * rows; tile < count; tile++) {
+            set(mask, tile);
+        }
+    }
+
+    /**
+     * Set only the tiles which intersect the region in the mask.
+     *
+     * @param mask   the mask.
+     * @param x      the left side of the region.
+     * @param y      the top side of the region.
+     * @param width  the width of the region.
+     * @param height the height of the region.
+     */
+    public void setRegion(@NotNull long[] mask, int x, int y, int width, int height) {
+
+        Arrays.fill(mask, 0);
+
+        var lastColumn = Math.min(columns, (x + width + tileSize - 1) / tileSize);
+        var lastRow = Math.min(rows, (y + height + tileSize - 1) / tileSize);
+
+        for (int row = Math.max(0, y / tileSize); row < lastRow; row++) {
+            for (int column = Math.max(0, x / tileSize); column < lastColumn; column++) {
+                set(mask, row * columns + column);
+            }
+        }
+    }
+
+    /**
+     * Add the tiles to the pending tiles, only for the producer thread.
+     *
+     * @param mask the mask of tiles.
+     */
+    public void publish(@NotNull long[] mask) {
+        for (int i = 0; i < mask.length; i++) {
+            if (mask[i] != 0) {
+                pending.getAndAccumulate(i, mask[i], (prev, value) -> prev | value);
+            }
+        }
+    }
+
+    /**
+     * Take all pending tiles, only for the consumer thread.
+     *
+     * @param mask the mask to store taken tiles.
+     * @return true if any tile was taken.
+     */
+    public boolean drain(@NotNull long[] mask) {
+
+        var result = false;
+
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = pending.getAndSet(i, 0);
+            result |= mask[i] != 0;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the size of tiles.
+     *
+     * @return the size of tiles.
+     */
+    public int getSize() {
+        return tileSize;
+    }
+
+    /**
+     * Get the count of columns.
+     *
+     * @return the count of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the count of rows.
+     *
+     * @return the count of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the X of the first pixel of the column.
+     *
+     * @param column the column.
+     * @return the X.
+     */
+    public int getX(int column) {
+        return column * tileSize;
+    }
+
+    /**
+     * Get the Y of the first pixel of the row.
+     *
+     * @param row the row.
+     * @return the Y.
+     */
+    public int getY(int row) {
+        return row * tileSize;
+    }
+
+    /**
+     * Get the width of tiles in the column.
+     *
+     * @param column the column.
+     * @return the width.
+     */
+    public int getWidth(int column) {
+        return Math.min(tileSize, width - column * tileSize);
+    }
+
+    /**
+     * Get the height of tiles in the row.
+     *
+     * @param row the row.
+     * @return the height.
+     */
+    public int getHeight(int row) {
+        return Math.min(tileSize, height - row * tileSize);
+    }
+}
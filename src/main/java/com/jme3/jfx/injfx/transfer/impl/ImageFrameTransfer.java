@@ -41,6 +41,7 @@ public class ImageFrameTransfer extends AbstractFrameTransfer<ImageView> {
             int width,
             int height
     ) {
+        // images aren't pooled, because the view can still show the image after disposing this transfer
         writableImage = new WritableImage(width, height);
         return writableImage.getPixelWriter();
     }
@@ -0,0 +1,332 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import com.jme3.renderer.Caps;
+import com.jme3.renderer.Renderer;
+import com.jme3.texture.FrameBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The asynchronous reader of frames from a frame buffer to pixel buffer objects.
+ * <p>
+ * Every frame is read to the next pixel buffer object guarded by a fence and the frame which was read 'latency'
+ * frames ago is mapped to be consumed, so the render thread doesn't wait for draining the GPU pipeline. Fences are
+ * only polled, if the GPU is more behind, the current frame isn't read and no frame is mapped.
+ * Works on any LWJGL 3 context with OpenGL 3.2 or ARB_sync, including Mesa's llvmpipe.
+ *
+ * @author JavaSaBr
+ */
+public class PboFrameReader {
+
+    /**
+     * The max count of frames which a read frame can be behind.
+     */
+    public static final int MAX_LATENCY = 3;
+
+    /**
+     * Check of supporting async reading by the renderer.
+     *
+     * @param renderer the renderer.
+     * @return true if async reading is supported.
+     */
+    public static boolean isSupported(@NotNull Renderer renderer) {
+
+        var caps = renderer.getCaps();
+
+        if (!caps.contains(Caps.OpenGL21) || !caps.contains(Caps.FrameBuffer)) {
+            return false;
+        }
+
+        try {
+            var capabilities = GL.getCapabilities();
+            return capabilities.OpenGL32 || capabilities.GL_ARB_sync;
+        } catch (Throwable e) {
+            // not a LWJGL 3 context or there is no current context
+            return false;
+        }
+    }
+
+    /**
+     * Check of reading regions of frame buffers directly by the current OpenGL context.
+     *
+     * @return true if regions can be read.
+     */
+    public static boolean isRegionSupported() {
+        try {
+            return GL.getCapabilities().OpenGL11;
+        } catch (Throwable e) {
+            // not a LWJGL 3 context or there is no current context
+            return false;
+        }
+    }
+
+    /**
+     * Read the region of the frame buffer to the same region of the buffer of the whole frame in RGBA format,
+     * other pixels of the buffer aren't changed.
+     *
+     * @param renderer    the renderer.
+     * @param frameBuffer the frame buffer to read.
+     * @param buffer      the buffer of the whole frame.
+     * @param frameWidth  the width of the frame.
+     * @param region      the region as [x, y, width, height].
+     */
+    public static void readRegion(
+            @NotNull Renderer renderer,
+            @NotNull FrameBuffer frameBuffer,
+            @NotNull ByteBuffer buffer,
+            int frameWidth,
+            @NotNull int[] region
+    ) {
+        renderer.setFrameBuffer(frameBuffer);
+        GL11.glReadBuffer(GL30.GL_COLOR_ATTACHMENT0 + frameBuffer.getColorBuffer().getSlot());
+        readPixels(frameWidth, region, buffer);
+    }
+
+    /**
+     * Read pixels of the region of the current frame buffer by the layout of the whole frame.
+     *
+     * @param frameWidth the width of the frame.
+     * @param region     the region as [x, y, width, height].
+     * @param buffer     the buffer of the whole frame or null to read to the bound pixel buffer object.
+     */
+    private static void readPixels(int frameWidth, @NotNull int[] region, @Nullable ByteBuffer buffer) {
+
+        GL11.glPixelStorei(GL11.GL_PACK_ROW_LENGTH, frameWidth);
+        GL11.glPixelStorei(GL11.GL_PACK_SKIP_PIXELS, region[0]);
+        GL11.glPixelStorei(GL11.GL_PACK_SKIP_ROWS, region[1]);
+
+        if (buffer != null) {
+            GL11.glReadPixels(region[0], region[1], region[2], region[3], GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, buffer);
+        } else {
+            GL11.glReadPixels(region[0], region[1], region[2], region[3], GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, 0L);
+        }
+
+        // jME doesn't track the pack state
+        GL11.glPixelStorei(GL11.GL_PACK_ROW_LENGTH, 0);
+        GL11.glPixelStorei(GL11.GL_PACK_SKIP_PIXELS, 0);
+        GL11.glPixelStorei(GL11.GL_PACK_SKIP_ROWS, 0);
+    }
+
+    /**
+     * The pixel buffer objects.
+     */
+    @NotNull
+    private final int[] buffers;
+
+    /**
+     * The fences of pixel buffer objects.
+     */
+    @NotNull
+    private final long[] fences;
+
+    /**
+     * The read regions of pixel buffer objects as [x, y, width, height].
+     */
+    @NotNull
+    private final int[][] regions;
+
+    /**
+     * The region of the whole frame.
+     */
+    @NotNull
+    private final int[] fullRegion;
+
+    /**
+     * The width.
+     */
+    private final int width;
+
+    /**
+     * The height.
+     */
+    private final int height;
+
+    /**
+     * The index of the next buffer to read a frame.
+     */
+    private int writeIndex;
+
+    /**
+     * The index of the currently mapped buffer or -1.
+     */
+    private int mappedIndex;
+
+    /**
+     * The flag of failing to wait for a fence, async reading shouldn't be used anymore.
+     */
+    private boolean failed;
+
+    /**
+     * The flag of skipping the last read because the GPU was too far behind.
+     */
+    private boolean skipped;
+
+    public PboFrameReader(int width, int height, int latency) {
+        this.width = width;
+        this.height = height;
+        this.buffers = new int[Math.max(1, Math.min(MAX_LATENCY, latency)) + 1];
+        this.fences = new long[buffers.length];
+        this.regions = new int[buffers.length][4];
+        this.fullRegion = new int[]{0, 0, width, height};
+        this.mappedIndex = -1;
+
+        var size = (long) width * height * 4;
+
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = GL15.glGenBuffers();
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffers[i]);
+            GL15.glBufferData(GL21.GL_PIXEL_PACK_BUFFER, size, GL15.GL_STREAM_READ);
+        }
+
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+    }
+
+    /**
+     * Start reading the current frame and map the oldest read frame if it's available.
+     *
+     * @param renderer    the renderer.
+     * @param frameBuffer the frame buffer to read.
+     * @return the mapped oldest frame in RGBA format or null if there are no read frames yet.
+     */
+    public @Nullable ByteBuffer read(@NotNull Renderer renderer, @NotNull FrameBuffer frameBuffer) {
+        return read(renderer, frameBuffer, fullRegion);
+    }
+
+    /**
+     * Start reading the region of the current frame and map the oldest read frame if it's available, pixels of
+     * the mapped frame outside of its read region are undefined.
+     *
+     * @param renderer    the renderer.
+     * @param frameBuffer the frame buffer to read.
+     * @param region      the region to read as [x, y, width, height].
+     * @return the mapped oldest frame in RGBA format or null if there are no read frames yet.
+     */
+    public @Nullable ByteBuffer read(@NotNull Renderer renderer, @NotNull FrameBuffer frameBuffer, @NotNull int[] region) {
+
+        // the buffer after the next buffer to write is the oldest read buffer
+        var readIndex = (writeIndex + 1) % buffers.length;
+        var fence = fences[readIndex];
+
+        skipped = false;
+
+        if (fence != 0) {
+
+            var result = GL32.glClientWaitSync(fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, 0);
+
+            // the GPU is more than 'latency' frames behind, so the current frame is skipped
+            if (result == GL32.GL_TIMEOUT_EXPIRED) {
+                skipped = true;
+                return null;
+            } else if (result == GL32.GL_WAIT_FAILED) {
+                failed = true;
+                return null;
+            }
+        }
+
+        renderer.setFrameBuffer(frameBuffer);
+
+        GL11.glReadBuffer(GL30.GL_COLOR_ATTACHMENT0 + frameBuffer.getColorBuffer().getSlot());
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffers[writeIndex]);
+
+        if (region[2] == width && region[3] == height) {
+            GL11.glReadPixels(0, 0, width, height, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, 0L);
+        } else {
+            readPixels(width, region, null);
+        }
+
+        System.arraycopy(region, 0, regions[writeIndex], 0, 4);
+
+        fences[writeIndex] = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        writeIndex = readIndex;
+
+        if (fence == 0) {
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+            return null;
+        }
+
+        GL32.glDeleteSync(fence);
+        fences[readIndex] = 0;
+
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffers[readIndex]);
+
+        var mapped = GL15.glMapBuffer(GL21.GL_PIXEL_PACK_BUFFER, GL15.GL_READ_ONLY, (long) width * height * 4, null);
+
+        if (mapped == null) {
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+            return null;
+        }
+
+        mappedIndex = readIndex;
+
+        return mapped.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Check of failing to wait for a fence, frames should be read synchronously after that.
+     *
+     * @return true if async reading failed.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Check of skipping the last read, the current frame wasn't read because the GPU was too far behind.
+     *
+     * @return true if the last read was skipped.
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Get the read region of the mapped frame.
+     *
+     * @return the region as [x, y, width, height].
+     */
+    public @NotNull int[] getMappedRegion() {
+        return regions[Math.max(0, mappedIndex)];
+    }
+
+    /**
+     * Release the mapped frame.
+     */
+    public void release() {
+
+        if (mappedIndex < 0) {
+            return;
+        }
+
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffers[mappedIndex]);
+        GL15.glUnmapBuffer(GL21.GL_PIXEL_PACK_BUFFER);
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+
+        mappedIndex = -1;
+    }
+
+    /**
+     * Delete all pixel buffer objects and fences, must be called in the render thread.
+     */
+    public void dispose() {
+        release();
+
+        for (int i = 0; i < buffers.length; i++) {
+
+            if (fences[i] != 0) {
+                GL32.glDeleteSync(fences[i]);
+                fences[i] = 0;
+            }
+
+            GL15.glDeleteBuffers(buffers[i]);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import static com.ss.rlib.common.util.ObjectUtils.notNull;
+import com.jme3.jfx.injfx.processor.FrameTransferSceneProcessor.TransferMode;
+import com.jme3.jfx.util.JfxPlatform;
+import com.jme3.jfx.util.PixelUtils;
+import com.jme3.texture.FrameBuffer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.util.Callback;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The class for transferring a frame from jME to {@link ImageView} by a pixel buffer.
+ * <p>
+ * The view shows one image backed by a {@code javafx.scene.image.PixelBuffer}, frames are converted to the usual
+ * staged slots and the FX thread copies changed tiles once to the pixel buffer inside of its update callback, which
+ * returns the dirty region, so JavaFX never uploads the image while it's being changed and updates only the changed
+ * region instead of writing pixels through a pixel writer. Requires JavaFX 13+, so the API is accessed by reflection
+ * and {@link #isSupported()} should be checked before using this transfer.
+ *
+ * @author JavaSaBr
+ */
+public class PixelBufferFrameTransfer extends AbstractFrameTransfer<ImageView> {
+
+    @Nullable
+    private static final Constructor<?> PIXEL_BUFFER_CONSTRUCTOR;
+
+    @Nullable
+    private static final Constructor<WritableImage> IMAGE_CONSTRUCTOR;
+
+    @Nullable
+    private static final Method UPDATE_BUFFER;
+
+    static {
+
+        Constructor<?> pixelBufferConstructor = null;
+        Constructor<WritableImage> imageConstructor = null;
+        Method updateBuffer = null;
+
+        try {
+            var type = Class.forName("javafx.scene.image.PixelBuffer");
+            pixelBufferConstructor = type.getConstructor(int.class, int.class, Buffer.class, PixelFormat.class);
+            imageConstructor = WritableImage.class.getConstructor(type);
+            updateBuffer = type.getMethod("updateBuffer", Callback.class);
+        } catch (ReflectiveOperationException e) {
+            // JavaFX older than 13
+        }
+
+        PIXEL_BUFFER_CONSTRUCTOR = pixelBufferConstructor;
+        IMAGE_CONSTRUCTOR = imageConstructor;
+        UPDATE_BUFFER = updateBuffer;
+    }
+
+    /**
+     * Check of supporting pixel buffers by the current JavaFX runtime.
+     *
+     * @return true if pixel buffers are supported.
+     */
+    public static boolean isSupported() {
+        return UPDATE_BUFFER != null;
+    }
+
+    /**
+     * The image view.
+     */
+    @NotNull
+    private final ImageView imageView;
+
+    /**
+     * The pixel buffer of the image.
+     */
+    @NotNull
+    private final Object pixelBuffer;
+
+    /**
+     * The memory of the pixel buffer, only for the FX thread inside of updating the pixel buffer.
+     */
+    @NotNull
+    private final ByteBuffer pixelData;
+
+    /**
+     * The image backed by the pixel buffer.
+     */
+    @NotNull
+    private final WritableImage image;
+
+    public PixelBufferFrameTransfer(@NotNull ImageView imageView, @NotNull TransferMode transferMode, int width, int height) {
+        this(imageView, transferMode, null, width, height);
+    }
+
+    public PixelBufferFrameTransfer(
+            @NotNull ImageView imageView,
+            @NotNull TransferMode transferMode,
+            @Nullable FrameBuffer frameBuffer,
+            int width,
+            int height
+    ) {
+        super(imageView, transferMode, frameBuffer, width, height);
+        this.imageView = imageView;
+
+        // the pixel buffer is released by GC together with the image, because the image can be still shown
+        this.pixelData = ByteBuffer.allocateDirect(getWidth() * getHeight() * 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            var format = PixelFormat.getByteBgraPreInstance();
+            this.pixelBuffer = notNull(PIXEL_BUFFER_CONSTRUCTOR).newInstance(getWidth(), getHeight(), pixelData, format);
+            this.image = notNull(IMAGE_CONSTRUCTOR).newInstance(pixelBuffer);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+
+        JfxPlatform.runInFxThread(() -> imageView.setImage(image));
+    }
+
+    @Override
+    protected @Nullable PixelWriter getPixelWriter(
+            @NotNull ImageView destination,
+            @NotNull FrameBuffer frameBuffer,
+            int width,
+            int height
+    ) {
+        return null;
+    }
+
+    @Override
+    protected void convertRegion(@NotNull ByteBuffer source, @NotNull ByteBuffer destination, int offset, int length) {
+        if (readback.isGpuConverted()) {
+            PixelUtils.copy(source, destination, offset, length);
+        } else {
+            PixelUtils.copyRgbaToBgraPre(source, destination, offset, length);
+        }
+    }
+
+    @Override
+    protected void writeSlot(@NotNull FrameSlot slot, @NotNull long[] tiles) {
+
+        if (imageView.getImage() != image) {
+            imageView.setImage(image);
+        }
+
+        var dirtyRegion = getDirtyRegion(tiles);
+
+        if (dirtyRegion == null) {
+            return;
+        }
+
+        // the pixel buffer can be changed only inside of the callback, when JavaFX doesn't upload the image
+        Callback<Object, Rectangle2D> callback = pixelBuffer -> {
+            copyTiles(slot.getData(), tiles);
+            return dirtyRegion;
+        };
+
+        try {
+            notNull(UPDATE_BUFFER).invoke(pixelBuffer, callback);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Copy the tiles of the staged frame to the pixel buffer.
+     *
+     * @param data  the staged frame.
+     * @param tiles the mask of tiles to copy.
+     */
+    protected void copyTiles(@NotNull ByteBuffer data, @NotNull long[] tiles) {
+
+        var width = getWidth();
+        var columns = frameTiles.getColumns();
+
+        for (int row = 0, rows = frameTiles.getRows(); row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+
+                if (!FrameTiles.isSet(tiles, row * columns + column)) {
+                    continue;
+                }
+
+                // copy neighboring changed tiles by one call per line
+                var first = column;
+
+                while (column + 1 < columns && FrameTiles.isSet(tiles, row * columns + column + 1)) {
+                    column++;
+                }
+
+                var x = frameTiles.getX(first);
+                var length = (frameTiles.getX(column) + frameTiles.getWidth(column) - x) * 4;
+
+                for (int y = frameTiles.getY(row), last = y + frameTiles.getHeight(row); y < last; y++) {
+                    PixelUtils.copy(data, pixelData, (y * width + x) * 4, length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the bounds of the dirty tiles.
+     *
+     * @param dirtyTiles the mask of dirty tiles.
+     * @return the bounds of the dirty tiles or null if there are no dirty tiles.
+     */
+    protected @Nullable Rectangle2D getDirtyRegion(@NotNull long[] dirtyTiles) {
+
+        var columns = frameTiles.getColumns();
+        var minColumn = Integer.MAX_VALUE;
+        var minRow = Integer.MAX_VALUE;
+        var maxColumn = -1;
+        var maxRow = -1;
+
+        for (int row = 0, rows = frameTiles.getRows(); row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (FrameTiles.isSet(dirtyTiles, row * columns + column)) {
+                    minColumn = Math.min(minColumn, column);
+                    maxColumn = Math.max(maxColumn, column);
+                    minRow = Math.min(minRow, row);
+                    maxRow = row;
+                }
+            }
+        }
+
+        if (maxRow < 0) {
+            return null;
+        }
+
+        var x = frameTiles.getX(minColumn);
+        var y = frameTiles.getY(minRow);
+        var width = frameTiles.getX(maxColumn) + frameTiles.getWidth(maxColumn) - x;
+        var height = frameTiles.getY(maxRow) + frameTiles.getHeight(maxRow) - y;
+
+        return new Rectangle2D(x, y, width, height);
+    }
+}
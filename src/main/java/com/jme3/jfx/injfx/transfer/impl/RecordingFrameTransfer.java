@@ -0,0 +1,173 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.jfx.injfx.transfer.FrameFormat;
+import com.jme3.jfx.injfx.transfer.FrameSink;
+import com.jme3.jfx.injfx.transfer.FrameTransfer;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Renderer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The decorator of a frame transfer which hands every read frame of the transfer to a frame recorder, so frames
+ * are captured without extra reading them from GPU.
+ *
+ * @author JavaSaBr
+ */
+public class RecordingFrameTransfer implements FrameTransfer {
+
+    /**
+     * The decorated transfer.
+     */
+    @NotNull
+    private final FrameTransfer delegate;
+
+    /**
+     * The recorder of frames.
+     */
+    @NotNull
+    private final FrameRecorder recorder;
+
+    /**
+     * The additional sink of read frames which was set by a user or null.
+     */
+    @Nullable
+    private volatile FrameSink frameSink;
+
+    public RecordingFrameTransfer(@NotNull FrameTransfer delegate, @NotNull FrameRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+        this.delegate.setFrameSink(this::notifyFrameRead);
+    }
+
+    private void notifyFrameRead(
+            @NotNull ByteBuffer frame,
+            int width,
+            int height,
+            @NotNull FrameFormat format,
+            long sequence
+    ) {
+
+        recorder.onFrame(frame, width, height, format, sequence);
+
+        var frameSink = this.frameSink;
+
+        if (frameSink != null) {
+            frameSink.onFrame(frame, width, height, format, sequence);
+        }
+    }
+
+    /**
+     * Get the decorated transfer.
+     *
+     * @return the decorated transfer.
+     */
+    public @NotNull FrameTransfer getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get the recorder of frames.
+     *
+     * @return the recorder of frames.
+     */
+    public @NotNull FrameRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public void initFor(@NotNull Renderer renderer, boolean main) {
+        delegate.initFor(renderer, main);
+    }
+
+    @Override
+    public void setReadbackLatency(int readbackLatency) {
+        delegate.setReadbackLatency(readbackLatency);
+    }
+
+    @Override
+    public void enableGpuConversion(@NotNull AssetManager assetManager) {
+        delegate.enableGpuConversion(assetManager);
+    }
+
+    @Override
+    public void setAtlasRegion(@NotNull FrameAtlas.Region atlasRegion) {
+        delegate.setAtlasRegion(atlasRegion);
+    }
+
+    @Override
+    public void setVisibleRegion(float minX, float minY, float maxX, float maxY) {
+        // recorded frames should be whole, so only the on-screen presentation can be limited
+        delegate.setVisibleRegion(0F, 0F, 1F, 1F);
+    }
+
+    @Override
+    public void setParallelProcessing(boolean parallelProcessing) {
+        delegate.setParallelProcessing(parallelProcessing);
+    }
+
+    @Override
+    public void setFrameSink(@Nullable FrameSink frameSink) {
+        this.frameSink = frameSink;
+    }
+
+    @Override
+    public void setWriteListener(@Nullable Runnable writeListener) {
+        delegate.setWriteListener(writeListener);
+    }
+
+    @Override
+    public int getWidth() {
+        return delegate.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return delegate.getHeight();
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return delegate.getDroppedFrames();
+    }
+
+    @Override
+    public long getWriteTime() {
+        return delegate.getWriteTime();
+    }
+
+    @Override
+    public void copyFrameBufferToImage(@NotNull RenderManager renderManager) {
+        delegate.copyFrameBufferToImage(renderManager);
+    }
+
+    @Override
+    public boolean isReadSkipped() {
+        return delegate.isReadSkipped();
+    }
+
+    @Override
+    public void dispose() {
+        delegate.setFrameSink(null);
+        delegate.dispose();
+    }
+
+    @Override
+    public boolean completeDispose() {
+        return delegate.completeDispose();
+    }
+
+    @Override
+    public boolean awaitDispose(long timeout, @NotNull TimeUnit unit) {
+        return delegate.awaitDispose(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "RecordingFrameTransfer{delegate=" + delegate + ", recorder=" + recorder + "}";
+    }
+}
@@ -0,0 +1,158 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.jfx.injfx.transfer.FrameFormat;
+import com.jme3.jfx.injfx.transfer.FrameSink;
+import com.jme3.jfx.injfx.transfer.FrameTransfer;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Renderer;
+import com.jme3.texture.FrameBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The frame transfer which hands read frames over to a {@link FrameSink} in the render thread, doesn't need
+ * the JavaFX toolkit, so it can be used to process frames without a display.
+ *
+ * @author JavaSaBr
+ */
+public class SinkFrameTransfer implements FrameTransfer, FrameSink {
+
+    /**
+     * The readback of frames.
+     */
+    @NotNull
+    private final FrameReadback readback;
+
+    /**
+     * The sink of read frames.
+     */
+    @NotNull
+    private final FrameSink sink;
+
+    /**
+     * The additional sink of read frames or null.
+     */
+    @Nullable
+    private volatile FrameSink frameSink;
+
+    /**
+     * The time of handing over the last frame to the sink in nanoseconds.
+     */
+    private volatile long writeTime;
+
+    /**
+     * The flag of disposed transfer.
+     */
+    private boolean disposed;
+
+    public SinkFrameTransfer(@NotNull FrameSink sink, int width, int height) {
+        this(sink, null, width, height);
+    }
+
+    public SinkFrameTransfer(@NotNull FrameSink sink, @Nullable FrameBuffer frameBuffer, int width, int height) {
+        this.sink = sink;
+        this.readback = new FrameReadback(frameBuffer, width, height);
+    }
+
+    @Override
+    public void initFor(@NotNull Renderer renderer, boolean main) {
+        readback.initFor(renderer, main);
+    }
+
+    @Override
+    public void setReadbackLatency(int readbackLatency) {
+        readback.setReadbackLatency(readbackLatency);
+    }
+
+    @Override
+    public void enableGpuConversion(@NotNull AssetManager assetManager) {
+        readback.enableGpuConversion(assetManager);
+    }
+
+    @Override
+    public void setAtlasRegion(@NotNull FrameAtlas.Region atlasRegion) {
+        readback.setAtlasRegion(atlasRegion);
+    }
+
+    @Override
+    public void setFrameSink(@Nullable FrameSink frameSink) {
+        this.frameSink = frameSink;
+    }
+
+    /**
+     * Gets the frame buffer to render frames.
+     *
+     * @return the frame buffer.
+     */
+    public @NotNull FrameBuffer getFrameBuffer() {
+        return readback.getFrameBuffer();
+    }
+
+    @Override
+    public int getWidth() {
+        return readback.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return readback.getHeight();
+    }
+
+    @Override
+    public long getWriteTime() {
+        return writeTime;
+    }
+
+    @Override
+    public void copyFrameBufferToImage(@NotNull RenderManager renderManager) {
+        if (!disposed) {
+            readback.read(renderManager, this);
+        }
+    }
+
+    @Override
+    public boolean isReadSkipped() {
+        return readback.isReadSkipped();
+    }
+
+    @Override
+    public void onFrame(@NotNull ByteBuffer frame, int width, int height, @NotNull FrameFormat format, long sequence) {
+
+        // frames of an atlas are handed over after processing of view ports
+        if (disposed) {
+            return;
+        }
+
+        var frameSink = this.frameSink;
+
+        if (frameSink != null) {
+            frameSink.onFrame(frame, width, height, format, sequence);
+        }
+
+        var startTime = System.nanoTime();
+
+        sink.onFrame(frame, width, height, format, sequence);
+
+        writeTime = System.nanoTime() - startTime;
+    }
+
+    @Override
+    public void dispose() {
+
+        if (disposed) {
+            return;
+        }
+
+        // frames aren't shared with other threads, so everything is released right away
+        disposed = true;
+        readback.dispose();
+    }
+
+    @Override
+    public String toString() {
+        return "SinkFrameTransfer{sink=" + sink + ", width=" + getWidth() + ", height=" + getHeight() + "}";
+    }
+}
@@ -0,0 +1,90 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The single off-heap block of memory which is sliced to frames for staging them between the render thread and
+ * the FX thread.
+ * <p>
+ * The block is taken from the {@link FrameResourcePool} once and is sized to the count of frames which a transfer
+ * actually needs, so staging doesn't create large heap arrays. The arena must be released explicitly when nobody
+ * uses its frames anymore, after that the frames must not be accessed.
+ *
+ * @author JavaSaBr
+ */
+public class StagingArena {
+
+    /**
+     * The pool of the block.
+     */
+    @NotNull
+    private final FrameResourcePool resourcePool;
+
+    /**
+     * The block or null if the arena is released or empty.
+     */
+    @Nullable
+    private ByteBuffer block;
+
+    /**
+     * The size of a frame in bytes.
+     */
+    private final int frameSize;
+
+    /**
+     * The count of frames.
+     */
+    private final int frames;
+
+    /**
+     * The count of sliced frames.
+     */
+    private int sliced;
+
+    public StagingArena(@NotNull FrameResourcePool resourcePool, int frameSize, int frames) {
+        this.resourcePool = resourcePool;
+        this.frameSize = frameSize;
+        this.frames = frames;
+        this.block = frames > 0 ? resourcePool.takeDirect(frameSize * frames) : null;
+    }
+
+    /**
+     * Slice the next frame of the arena.
+     *
+     * @return the next frame in little endian byte order.
+     */
+    public @NotNull ByteBuffer nextFrame() {
+
+        var block = this.block;
+
+        if (block == null) {
+            throw new IllegalStateException("the arena is released or empty.");
+        } else if (sliced >= frames) {
+            throw new IllegalStateException("all " + frames + " frames of the arena are already sliced.");
+        }
+
+        var offset = frameSize * sliced++;
+
+        return block.duplicate()
+                .clear()
+                .position(offset)
+                .limit(offset + frameSize)
+                .slice()
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Release the block of the arena to the pool.
+     */
+    public void release() {
+
+        if (block != null) {
+            resourcePool.release(block);
+            block = null;
+        }
+    }
+}
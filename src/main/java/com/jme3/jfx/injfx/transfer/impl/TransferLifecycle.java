@@ -0,0 +1,171 @@
+package com.jme3.jfx.injfx.transfer.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The lifecycle of a frame transfer which is shared between the render thread and the FX thread.
+ * <p>
+ * Only the FX thread can start and finish writing, only the render thread can dispose, so the transitions never
+ * need to be retried in a loop. When disposing is requested during writing, it's deferred until the FX thread
+ * finishes writing and the resources which are shared with the FX thread are released later by the render thread.
+ *
+ * @author JavaSaBr
+ */
+public class TransferLifecycle {
+
+    public enum State {
+
+        /**
+         * The transfer works and nobody writes to the destination.
+         */
+        ACTIVE,
+
+        /**
+         * The FX thread writes to the destination.
+         */
+        WRITING,
+
+        /**
+         * Disposing was requested while the FX thread was writing.
+         */
+        DISPOSE_PENDING,
+
+        /**
+         * The FX thread finished writing and the shared resources can be released.
+         */
+        RELEASABLE,
+
+        /**
+         * The transfer is disposed.
+         */
+        DISPOSED
+    }
+
+    /**
+     * How many times to spin before parking the waiting thread.
+     */
+    private static final int MAX_SPINS = 64;
+
+    /**
+     * The max time to park the waiting thread at once.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * The current state.
+     */
+    @NotNull
+    private final AtomicReference<State> state;
+
+    public TransferLifecycle() {
+        this.state = new AtomicReference<>(State.ACTIVE);
+    }
+
+    /**
+     * Get the current state.
+     *
+     * @return the current state.
+     */
+    public @NotNull State getState() {
+        return state.get();
+    }
+
+    /**
+     * Check of working the transfer.
+     *
+     * @return true if the transfer isn't disposed and disposing wasn't requested.
+     */
+    public boolean isActive() {
+        var current = state.get();
+        return current == State.ACTIVE || current == State.WRITING;
+    }
+
+    /**
+     * Try to start writing to the destination, only for the FX thread.
+     *
+     * @return true if writing can be started.
+     */
+    public boolean tryStartWriting() {
+        return state.compareAndSet(State.ACTIVE, State.WRITING);
+    }
+
+    /**
+     * Finish writing to the destination, only for the FX thread.
+     */
+    public void finishWriting() {
+        if (!state.compareAndSet(State.WRITING, State.ACTIVE)) {
+            state.compareAndSet(State.DISPOSE_PENDING, State.RELEASABLE);
+        }
+    }
+
+    /**
+     * Request disposing, only for the render thread.
+     *
+     * @return true if the shared resources can be released right now, false if it's deferred.
+     */
+    public boolean requestDispose() {
+
+        if (state.compareAndSet(State.ACTIVE, State.DISPOSED)) {
+            return true;
+        }
+
+        // the FX thread can finish writing only before it's marked as pending
+        if (state.compareAndSet(State.WRITING, State.DISPOSE_PENDING)) {
+            return false;
+        }
+
+        return state.compareAndSet(State.ACTIVE, State.DISPOSED);
+    }
+
+    /**
+     * Try to complete deferred disposing, only for the render thread.
+     *
+     * @return true if the shared resources can be released right now.
+     */
+    public boolean tryCompleteDispose() {
+        return state.compareAndSet(State.RELEASABLE, State.DISPOSED);
+    }
+
+    /**
+     * Wait for finishing writing by the FX thread after requesting disposing. The waiting thread spins for a short
+     * time and then parks with a growing interval.
+     *
+     * @param timeout the timeout.
+     * @param unit    the unit of the timeout.
+     * @return true if the shared resources can be released right now.
+     */
+    public boolean awaitDispose(long timeout, @NotNull TimeUnit unit) {
+
+        var deadline = System.nanoTime() + unit.toNanos(timeout);
+        var parkNanos = 1000L;
+
+        for (int spins = 0; ; spins++) {
+
+            var current = state.get();
+
+            if (current == State.DISPOSED) {
+                return false;
+            } else if (current != State.DISPOSE_PENDING) {
+                return tryCompleteDispose();
+            }
+
+            if (spins < MAX_SPINS) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            var remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            LockSupport.parkNanos(this, Math.min(parkNanos, remaining));
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.jme3.jfx.injme;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The mask of pixels of a javaFX frame which are covered by UI (have not zero alpha) to check input events
+ * without reading frames.
+ * <p>
+ * The mask has one bit per pixel and the coarse index of tiles which are fully empty or fully covered, so most
+ * checks are answered by the index and others by one bit. The mask is updated by the FX thread before its frame
+ * is published and is checked by the jME thread while its frame is presented, the FX thread can rewrite the mask
+ * as soon as the jME thread takes a newer frame.
+ *
+ * @author JavaSaBr
+ */
+public class FxCoverageMask {
+
+    /**
+     * The size of tiles of the index.
+     */
+    public static final int TILE_SIZE = 16;
+
+    /**
+     * The state of a tile without covered pixels.
+     */
+    private static final byte EMPTY = 0;
+
+    /**
+     * The state of a tile with only covered pixels.
+     */
+    private static final byte COVERED = 1;
+
+    /**
+     * The state of a tile with covered and not covered pixels.
+     */
+    private static final byte MIXED = 2;
+
+    /**
+     * The bits of covered pixels.
+     */
+    @NotNull
+    private final long[] bits;
+
+    /**
+     * The states of tiles.
+     */
+    @NotNull
+    private final byte[] tiles;
+
+    /**
+     * The counts of covered pixels in tiles of the current row of tiles, only for updating.
+     */
+    @NotNull
+    private final int[] counts;
+
+    /**
+     * The width of frames.
+     */
+    private final int width;
+
+    /**
+     * The height of frames.
+     */
+    private final int height;
+
+    /**
+     * The count of columns of tiles.
+     */
+    private final int columns;
+
+    public FxCoverageMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.bits = new long[(width * height + 63) >>> 6];
+        this.tiles = new byte[columns * ((height + TILE_SIZE - 1) / TILE_SIZE)];
+        this.counts = new int[columns];
+    }
+
+    /**
+     * Update this mask by the frame, only for the FX thread.
+     *
+     * @param frame       the frame.
+     * @param alphaOffset the offset of the alpha channel in pixels of the frame.
+     */
+    public void update(@NotNull ByteBuffer frame, int alphaOffset) {
+
+        Arrays.fill(bits, 0);
+
+        for (int tileY = 0; tileY < height; tileY += TILE_SIZE) {
+
+            Arrays.fill(counts, 0);
+
+            var lastY = Math.min(height, tileY + TILE_SIZE);
+
+            for (int y = tileY; y < lastY; y++) {
+                for (int x = 0, index = y * width; x < width; x++, index++) {
+                    if (frame.get(index * 4 + alphaOffset) != 0) {
+                        bits[index >>> 6] |= 1L << index;
+                        counts[x / TILE_SIZE]++;
+                    }
+                }
+            }
+
+            var row = tileY / TILE_SIZE;
+
+            for (int column = 0; column < columns; column++) {
+
+                var area = (Math.min(width, (column + 1) * TILE_SIZE) - column * TILE_SIZE) * (lastY - tileY);
+                var count = counts[column];
+
+                tiles[row * columns + column] = count == 0 ? EMPTY : count == area ? COVERED : MIXED;
+            }
+        }
+    }
+
+    /**
+     * Check of covering the pixel by UI.
+     *
+     * @param x the X of the pixel.
+     * @param y the Y of the pixel from the top.
+     * @return true if the pixel is covered.
+     */
+    public boolean isCovered(int x, int y) {
+
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+
+        var state = tiles[(y / TILE_SIZE) * columns + x / TILE_SIZE];
+
+        if (state != MIXED) {
+            return state == COVERED;
+        }
+
+        var index = y * width + x;
+
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
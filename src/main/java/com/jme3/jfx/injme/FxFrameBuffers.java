@@ -0,0 +1,217 @@
+package com.jme3.jfx.injme;
+
+import com.jme3.jfx.injfx.transfer.impl.FrameResourcePool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The triple buffer of javaFX frames to hand them over from the FX thread to the jME thread without copying and
+ * locking.
+ * <p>
+ * The FX thread renders a frame right to the back buffer and publishes it by swapping the back buffer with
+ * the middle buffer, the jME thread takes the newest frame by swapping the front buffer with the middle buffer
+ * and presents the front buffer until the next newer frame. So every thread always owns its own buffer and
+ * the threads exchange buffers by one atomic operation.
+ * <p>
+ * Buffers are taken from the {@link FrameResourcePool} by buckets of capacities, so resizing of the window by small
+ * steps reuses the same buffers after disposing the buffers of the previous size.
+ *
+ * @author JavaSaBr
+ */
+public class FxFrameBuffers {
+
+    /**
+     * The flag of the middle buffer with a frame which wasn't taken by the jME thread yet.
+     */
+    private static final int NEW_FRAME = 1 << 2;
+
+    /**
+     * The mask of the index of a buffer.
+     */
+    private static final int INDEX_MASK = NEW_FRAME - 1;
+
+    /**
+     * The buffers of frames.
+     */
+    @NotNull
+    private final ByteBuffer[] buffers;
+
+    /**
+     * The int presentations of the buffers.
+     */
+    @NotNull
+    private final IntBuffer[] intBuffers;
+
+    /**
+     * The coverage masks of frames of the buffers.
+     */
+    @NotNull
+    private final FxCoverageMask[] masks;
+
+    /**
+     * The index of the middle buffer with the {@link #NEW_FRAME} flag.
+     */
+    @NotNull
+    private final AtomicInteger middle;
+
+    /**
+     * The index of the back buffer, only for the FX thread.
+     */
+    private int back;
+
+    /**
+     * The index of the front buffer, only for the jME thread.
+     */
+    private int front;
+
+    /**
+     * The width of frames.
+     */
+    private final int width;
+
+    /**
+     * The height of frames.
+     */
+    private final int height;
+
+    /**
+     * The size of frames in bytes.
+     */
+    private final int size;
+
+    public FxFrameBuffers(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height * 4;
+        this.buffers = new ByteBuffer[3];
+        this.intBuffers = new IntBuffer[3];
+        this.masks = new FxCoverageMask[3];
+
+        var resourcePool = FrameResourcePool.getInstance();
+
+        for (int i = 0; i < buffers.length; i++) {
+            // javaFX writes pixels as ints, so bytes of pixels follow the native order
+            buffers[i] = resourcePool.takeDirect(size).order(ByteOrder.nativeOrder());
+            intBuffers[i] = buffers[i].asIntBuffer();
+            masks[i] = new FxCoverageMask(width, height);
+        }
+
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * Gets the width of frames.
+     *
+     * @return the width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of frames.
+     *
+     * @return the height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the back buffer to render a new frame, only for the FX thread.
+     *
+     * @return the back buffer.
+     */
+    public @NotNull ByteBuffer getBackBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * Gets the int presentation of the back buffer to render a new frame, only for the FX thread.
+     *
+     * @return the int presentation of the back buffer.
+     */
+    public @NotNull IntBuffer getBackIntBuffer() {
+        return intBuffers[back].clear();
+    }
+
+    /**
+     * Gets the coverage mask of the back buffer to update it by a new frame, only for the FX thread.
+     *
+     * @return the coverage mask of the back buffer.
+     */
+    public @NotNull FxCoverageMask getBackMask() {
+        return masks[back];
+    }
+
+    /**
+     * Publish the frame of the back buffer, the previous not taken frame is replaced, only for the FX thread.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | NEW_FRAME) & INDEX_MASK;
+    }
+
+    /**
+     * Check of existing a published frame which wasn't taken yet.
+     *
+     * @return true if there is a new frame.
+     */
+    public boolean hasNewFrame() {
+        return (middle.get() & NEW_FRAME) != 0;
+    }
+
+    /**
+     * Take the newest published frame to the front buffer, only for the jME thread.
+     *
+     * @return the front buffer with the newest frame or null if there are no new frames.
+     */
+    public @Nullable ByteBuffer takeNewest() {
+
+        if (!hasNewFrame()) {
+            return null;
+        }
+
+        front = middle.getAndSet(front) & INDEX_MASK;
+
+        return getFrontBuffer();
+    }
+
+    /**
+     * Gets the front buffer which is presented by jME, only for the jME thread.
+     *
+     * @return the front buffer.
+     */
+    public @NotNull ByteBuffer getFrontBuffer() {
+        return buffers[front].clear().limit(size);
+    }
+
+    /**
+     * Gets the coverage mask of the frame which is presented by jME, only for the jME thread. The mask can be
+     * rewritten by the FX thread once the jME thread takes a newer frame, so it should be checked only by the jME
+     * thread which replaces the checked mask in the same step.
+     *
+     * @return the coverage mask of the front buffer.
+     */
+    public @NotNull FxCoverageMask getFrontMask() {
+        return masks[front];
+    }
+
+    /**
+     * Release the buffers to the pool, must be called only when both threads don't use the buffers anymore.
+     */
+    public void dispose() {
+
+        var resourcePool = FrameResourcePool.getInstance();
+
+        for (var buffer : buffers) {
+            resourcePool.release(buffer);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.jme3.jfx.injme;
 
-import static com.jme3.jfx.injme.util.JmeWindowUtils.*;
-import com.jme3.system.JmeContext;
+import com.jme3.asset.AssetManager;
+import com.jme3.jfx.injme.util.JmeWindowTracker;
+import com.jme3.material.Material;
+import com.jme3.material.RenderState.BlendMode;
+import com.jme3.texture.Image.Format;
+import com.jme3.texture.Texture2D;
 import com.jme3.ui.Picture;
 import com.jme3.jfx.util.JfxPlatform;
 import com.ss.rlib.common.logging.Logger;
@@ -20,6 +24,11 @@ public class JavaFxPicture extends Picture {
     @NotNull
     private static final Logger LOGGER = LoggerManager.getLogger(JfxPlatform.class);
 
+    /**
+     * The material definition to present javaFX frames.
+     */
+    public static final String MATERIAL_DEF = "com/jme3/jfx/injme/shader/FxPicture.j3md";
+
     /**
      * The JavaFX container.
      */
@@ -40,11 +49,45 @@ public class JavaFxPicture extends Picture {
         return container;
     }
 
+    /**
+     * Set the texture with javaFX frames, if the texture's format differs from the format of javaFX frames, the
+     * bytes of frames are expected to be uploaded as is and their channels are reordered by the shader.
+     *
+     * @param assetManager  the asset manager.
+     * @param texture       the texture.
+     * @param fxFormat      the format of javaFX frames.
+     * @param textureFormat the format of the texture.
+     */
+    public void setTexture(
+            @NotNull final AssetManager assetManager,
+            @NotNull final Texture2D texture,
+            @NotNull final Format fxFormat,
+            @NotNull final Format textureFormat
+    ) {
+
+        Material material = getMaterial();
+
+        if (material == null) {
+            material = new Material(assetManager, MATERIAL_DEF);
+            setMaterial(material);
+        }
+
+        final boolean reordered = fxFormat != textureFormat;
+
+        // BYTE_BGRA_PRE frames have premultiplied alpha, so they are blended as is
+        final BlendMode blendMode = fxFormat == Format.BGRA8 ? BlendMode.PremultAlpha : BlendMode.Alpha;
+
+        material.getAdditionalRenderState().setBlendMode(blendMode);
+        material.setTexture("Texture", texture);
+        material.setBoolean("ArgbOrder", reordered && fxFormat == Format.ARGB8);
+        material.setBoolean("BgraOrder", reordered && fxFormat == Format.BGRA8);
+    }
+
     @Override
     public void updateLogicalState(final float tpf) {
 
         final JmeFxContainerInternal container = getContainer();
-        final JmeContext jmeContext = container.getJmeContext();
+        final JmeWindowTracker windowTracker = container.getWindowTracker();
         try {
 
             final EmbeddedStageInterface stageInterface = container.getStageInterface();
@@ -52,15 +95,17 @@ public class JavaFxPicture extends Picture {
                 return;
             }
 
-            final int windowWidth = getWidth(jmeContext);
-            final int windowHeight = getHeight(jmeContext);
-
-            if (windowWidth != container.getSceneWidth() || windowHeight != container.getSceneHeight()) {
+            // the flag is reset by the container when the scene is really resized
+            if (windowTracker.isResized()) {
                 container.fitSceneToWindowSize();
             }
 
-            final int currentX = getX(jmeContext);
-            final int currentY = getY(jmeContext);
+            if (!windowTracker.takeMoved()) {
+                return;
+            }
+
+            final int currentX = windowTracker.getX();
+            final int currentY = windowTracker.getY();
 
             if (container.getPositionX() != currentX || container.getPositionY() != currentY) {
 
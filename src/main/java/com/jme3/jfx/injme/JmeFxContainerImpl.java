@@ -8,9 +8,12 @@ import com.jme3.app.state.AppStateManager;
 import com.jme3.asset.AssetManager;
 import com.jme3.jfx.injme.cursor.CursorDisplayProvider;
 import com.jme3.jfx.injme.input.JmeFXInputListener;
-import com.jme3.jfx.injme.util.JmeWindowUtils;
+import com.jme3.jfx.injme.util.JmeWindowTracker;
 import com.jme3.jfx.util.JfxPlatform;
 import com.jme3.input.InputManager;
+import com.jme3.renderer.Renderer;
+import com.jme3.renderer.opengl.GLImageFormat;
+import com.jme3.renderer.opengl.GLImageFormats;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial.CullHint;
 import com.jme3.system.JmeContext;
@@ -19,11 +22,7 @@ import com.jme3.texture.Image.Format;
 import com.jme3.texture.Texture2D;
 import com.jme3.texture.image.ColorSpace;
 import com.jme3.ui.Picture;
-import com.jme3.util.BufferUtils;
 import com.jme3.jfx.injme.cursor.proton.ProtonCursorProvider;
-import com.ss.rlib.common.concurrent.atomic.AtomicInteger;
-import com.ss.rlib.common.concurrent.lock.AsyncReadSyncWriteLock;
-import com.ss.rlib.common.concurrent.lock.LockFactory;
 import com.ss.rlib.common.logging.Logger;
 import com.ss.rlib.common.logging.LoggerLevel;
 import com.ss.rlib.common.logging.LoggerManager;
@@ -42,9 +41,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
+import java.util.concurrent.ExecutionException;
 
 /**
  * The container which interacts with jME and includes javaFX scene.
@@ -91,41 +91,16 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         return container;
     }
 
-    // TODO benchmark
-    private static Void reorder_ARGB82ABGR8(@NotNull final ByteBuffer data) {
-
-        final int limit = data.limit() - 3;
-
-        byte v;
-
-        for (int i = 0; i < limit; i += 4) {
-            v = data.get(i + 1);
-            data.put(i + 1, data.get(i + 3));
-            data.put(i + 3, v);
-        }
-
-        return null;
-    }
-
-    // TODO benchmark
-    private static Void reorder_BGRA82ABGR8(@NotNull final ByteBuffer data) {
-
-        final int limit = data.limit() - 3;
-
-        byte v0, v1, v2, v3;
-
-        for (int i = 0; i < limit; i += 4) {
-            v0 = data.get(i);
-            v1 = data.get(i + 1);
-            v2 = data.get(i + 2);
-            v3 = data.get(i + 3);
-            data.put(i, v3);
-            data.put(i + 1, v0);
-            data.put(i + 2, v1);
-            data.put(i + 3, v2);
-        }
-
-        return null;
+    /**
+     * Check of supporting the format of textures by the renderer.
+     *
+     * @param renderer the renderer.
+     * @param format   the format.
+     * @return true if textures of the format can be uploaded.
+     */
+    private static boolean isSupported(@NotNull final Renderer renderer, @NotNull final Format format) {
+        final GLImageFormat[][] formats = GLImageFormats.getFormatsForCaps(renderer.getCaps());
+        return formats[0][format.ordinal()] != null;
     }
 
     /**
@@ -135,6 +110,7 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
 
         @Override
         public void cleanup() {
+            windowTracker.dispose();
             Platform.exit();
             super.cleanup();
         }
@@ -143,23 +119,11 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @NotNull
     protected volatile CompletableFuture<Format> nativeFormat = new CompletableFuture<>();
 
-    /**
-     * The count of frames which need to write to JME.
-     */
-    @NotNull
-    private final AtomicInteger waitCount;
-
-    /**
-     * The lock to control transfer frames from javaFX to JME.
-     */
-    @NotNull
-    private final AsyncReadSyncWriteLock imageLock;
-
     /**
      * The image node to present javaFX scene.
      */
     @NotNull
-    private final Picture picture;
+    private final JavaFxPicture picture;
 
     /**
      * The texture to present javaFX scene.
@@ -173,6 +137,12 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @NotNull
     private final JmeContext jmeContext;
 
+    /**
+     * The tracker of the geometry of the jME window.
+     */
+    @NotNull
+    private final JmeWindowTracker windowTracker;
+
     /**
      * The jME application.
      */
@@ -234,34 +204,41 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     protected volatile Image jmeImage;
 
     /**
-     * The data of javaFX frame on the jME side.
+     * The triple buffer of javaFX frames.
      */
     @Nullable
-    protected volatile ByteBuffer jmeData;
+    protected volatile FxFrameBuffers frameBuffers;
 
     /**
-     * The data buffer of javaFX frame on javaFX side.
+     * The triple buffer of the presented frame, only for the jME thread.
      */
     @Nullable
-    protected volatile ByteBuffer fxData;
+    protected FxFrameBuffers presentedBuffers;
 
     /**
-     * The temp data to transfer frames between javaFX and jME.
+     * The triple buffers of sizes which were replaced before any of their frames was presented, only for the jME
+     * thread.
      */
-    @Nullable
-    protected volatile ByteBuffer tempData;
+    @NotNull
+    protected final List<FxFrameBuffers> supersededBuffers = new ArrayList<>();
 
     /**
-     * The int presentation of the {@link #tempData}.
+     * The coverage mask of the presented frame or null, only for the jME thread which checks input events.
      */
     @Nullable
-    protected volatile IntBuffer tempIntData;
+    protected volatile FxCoverageMask coverageMask;
 
     /**
-     * The function to reorder pixels.
+     * The offset of the alpha channel in pixels of javaFX frames.
      */
-    @Nullable
-    protected volatile Function<ByteBuffer, Void> reorderData;
+    protected final int alphaOffset;
+
+    /**
+     * The format of the texture, it's RGBA8 if the native format isn't supported by the renderer, then channels
+     * are reordered by the shader.
+     */
+    @NotNull
+    protected final Format textureFormat;
 
     /**
      * The time of last resized window.
@@ -314,8 +291,7 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         this.positionY = -1;
         this.positionX = -1;
         this.jmeContext = application.getContext();
-        this.waitCount = new AtomicInteger();
-        this.imageLock = LockFactory.newAtomicARSWLock();
+        this.windowTracker = new JmeWindowTracker(application);
         this.cursorProvider = cursorProvider;
         this.application = application;
         this.visibleCursor = true;
@@ -329,7 +305,15 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         this.picture.move(0, 0, -1);
         this.picture.setPosition(0, 0);
         this.texture = new Texture2D(new Image());
-        this.picture.setTexture(assetManager, texture, true);
+
+        final Format fxFormat = getNativeFormat();
+        final Renderer renderer = application.getRenderer();
+
+        this.alphaOffset = fxFormat == Format.ARGB8 ? 0 : 3;
+
+        // bytes of unsupported formats are uploaded as is
+        this.textureFormat = renderer == null || isSupported(renderer, fxFormat) ? fxFormat : Format.RGBA8;
+        this.picture.setTexture(assetManager, texture, fxFormat, textureFormat);
 
         fitSceneToWindowSize();
     }
@@ -372,17 +356,13 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     }
 
     @Override
-    public @NotNull CursorDisplayProvider getCursorProvider() {
-        return cursorProvider;
+    public @NotNull JmeWindowTracker getWindowTracker() {
+        return windowTracker;
     }
 
-    /**
-     * Gets the lock to control transferring frames.
-     *
-     * @return the lock.
-     */
-    private @NotNull AsyncReadSyncWriteLock getImageLock() {
-        return imageLock;
+    @Override
+    public @NotNull CursorDisplayProvider getCursorProvider() {
+        return cursorProvider;
     }
 
     @Override
@@ -463,12 +443,16 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     }
 
     /**
-     * Gets the function to reorder pixels.
+     * Gets the native format of javaFX frames, waits for starting javaFX.
      *
-     * @return the function to reorder pixels.
+     * @return the native format.
      */
-    private @Nullable Function<ByteBuffer, Void> getReorderData() {
-        return reorderData;
+    private @NotNull Format getNativeFormat() {
+        try {
+            return nativeFormat.get();
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
@@ -512,39 +496,12 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     }
 
     /**
-     * Gets the data buffer of javaFX frame on javaFX side.
+     * Gets the triple buffer of javaFX frames.
      *
-     * @return the data buffer.
+     * @return the triple buffer of javaFX frames.
      */
-    private @Nullable ByteBuffer getFxData() {
-        return fxData;
-    }
-
-    /**
-     * Gets the data of javaFX frame on the jME side.
-     *
-     * @return the data of javaFX frame on the jME side.
-     */
-    private @Nullable ByteBuffer getJmeData() {
-        return jmeData;
-    }
-
-    /**
-     * Gets the temp data to transfer frames between javaFX and jME.
-     *
-     * @return the temp data to transfer frames between javaFX and jME.
-     */
-    private @Nullable ByteBuffer getTempData() {
-        return tempData;
-    }
-
-    /**
-     * Gets the int presentation of the tempData.
-     *
-     * @return the int presentation of the tempData.
-     */
-    private @Nullable IntBuffer getTempIntData() {
-        return tempIntData;
+    private @Nullable FxFrameBuffers getFrameBuffers() {
+        return frameBuffers;
     }
 
     /**
@@ -556,15 +513,6 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         return texture;
     }
 
-    /**
-     * Gets the the count of waited frames.
-     *
-     * @return the count of waited frames.
-     */
-    private @NotNull AtomicInteger getWaitCount() {
-        return waitCount;
-    }
-
     @Override
     public void grabFocus() {
 
@@ -583,13 +531,12 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         final long time = System.currentTimeMillis();
         if (time - getLastResized() < MIN_RESIZE_INTERVAL) return;
 
-        final JmeContext jmeContext = getJmeContext();
+        final JmeWindowTracker windowTracker = getWindowTracker();
+        windowTracker.takeResized();
 
-        final int winWidth = JmeWindowUtils.getWidth(jmeContext);
-        final int winHeight = JmeWindowUtils.getHeight(jmeContext);
+        final int winWidth = windowTracker.getWidth();
+        final int winHeight = windowTracker.getHeight();
 
-        final AsyncReadSyncWriteLock lock = getImageLock();
-        lock.syncLock();
         try {
 
             final int textureWidth = Math.max(winWidth, 64);
@@ -605,34 +552,27 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
             picture.setWidth(textureWidth);
             picture.setHeight(textureHeight);
 
-            final ByteBuffer fxData = getFxData();
-            if (fxData != null) {
-                BufferUtils.destroyDirectBuffer(fxData);
-            }
+            // the previous frame is presented stretched until the first frame of the new size is taken
+            final FxFrameBuffers prevBuffers = getFrameBuffers();
+            final FxFrameBuffers frameBuffers = new FxFrameBuffers(textureWidth, textureHeight);
 
-            final ByteBuffer tempData = getTempData();
-            if (tempData != null) {
-                BufferUtils.destroyDirectBuffer(tempData);
+            // javaFX can still render to the replaced buffers, so they are released with the presented buffers
+            if (prevBuffers != null && prevBuffers != presentedBuffers) {
+                supersededBuffers.add(prevBuffers);
             }
 
-            final ByteBuffer jmeData = getJmeData();
-            if (jmeData != null) {
-                BufferUtils.destroyDirectBuffer(jmeData);
-            }
+            this.frameBuffers = frameBuffers;
+            this.coverageMask = null;
 
-            final Image jmeImage = getJmeImage();
-            if (jmeImage != null) {
-                jmeImage.dispose();
-            }
+            if (getJmeImage() == null) {
 
-            this.fxData = BufferUtils.createByteBuffer(textureWidth * textureHeight * 4);
-            this.tempData = BufferUtils.createByteBuffer(textureWidth * textureHeight * 4);
-            this.tempIntData = getTempData().asIntBuffer();
-            this.jmeData = BufferUtils.createByteBuffer(textureWidth * textureHeight * 4);
-            this.jmeImage = new Image(nativeFormat.get(), textureWidth, textureHeight, getJmeData(), ColorSpace.sRGB);
+                this.presentedBuffers = frameBuffers;
+                this.jmeImage = new Image(textureFormat, textureWidth, textureHeight,
+                        frameBuffers.getFrontBuffer(), ColorSpace.sRGB);
 
-            final Texture2D texture = getTexture();
-            texture.setImage(getJmeImage());
+                final Texture2D texture = getTexture();
+                texture.setImage(getJmeImage());
+            }
 
             setSceneHeight(textureHeight);
             setSceneWidth(textureWidth);
@@ -650,8 +590,6 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
 
         } catch (final Exception e) {
             LOGGER.warning(e);
-        } finally {
-            lock.syncUnlock();
         }
 
         setLastResized(time);
@@ -674,22 +612,10 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         PlatformImpl.startup(() -> {
             switch (Pixels.getNativeFormat()) {
                 case Pixels.Format.BYTE_ARGB:
-                    try {
-                        nativeFormat.complete(Format.ARGB8);
-                        reorderData = null;
-                    } catch (final Exception exc1) {
-                        nativeFormat.complete(Format.ABGR8);
-                        reorderData = JmeFxContainerImpl::reorder_ARGB82ABGR8;
-                    }
+                    nativeFormat.complete(Format.ARGB8);
                     break;
                 case Pixels.Format.BYTE_BGRA_PRE:
-                    try {
-                        nativeFormat.complete(Format.BGRA8);
-                        reorderData = null;
-                    } catch (final Exception exc2) {
-                        nativeFormat.complete(Format.ABGR8);
-                        reorderData = JmeFxContainerImpl::reorder_BGRA82ABGR8;
-                    }
+                    nativeFormat.complete(Format.BGRA8);
                     break;
                 default:
                     throw new IllegalArgumentException("Not supported javaFX pixel format " + Pixels.getNativeFormat());
@@ -700,27 +626,19 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public boolean isCovered(final int x, final int y) {
 
-        final Image jmeImage = getJmeImage();
-        final int sceneWidth = getSceneWidth();
+        final FxCoverageMask coverageMask = this.coverageMask;
 
-        if (jmeImage == null || x < 0 || x >= sceneWidth) {
-            return false;
-        } else if (y < 0 || y >= getSceneHeight()) {
+        if (coverageMask == null) {
             return false;
         }
 
-        final ByteBuffer data = jmeImage.getData(0);
-        data.limit(data.capacity());
-
-        final int alpha = data.get(3 + 4 * (y * sceneWidth + x));
-
-        data.limit(0);
+        final boolean covered = coverageMask.isCovered(x, y);
 
         if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
-            LOGGER.debug(this, "is covered " + x + ", " + y + " = " + (alpha != 0));
+            LOGGER.debug(this, "is covered " + x + ", " + y + " = " + covered);
         }
 
-        return alpha != 0;
+        return covered;
     }
 
     @Override
@@ -744,7 +662,8 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
 
     @Override
     public boolean isNeedWriteToJme() {
-        return waitCount.get() > 0;
+        final FxFrameBuffers frameBuffers = getFrameBuffers();
+        return frameBuffers != null && frameBuffers.hasNewFrame();
     }
 
     /**
@@ -785,45 +704,19 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
         }
 
         final EmbeddedSceneInterface sceneInterface = getSceneInterface();
-        if (sceneInterface == null) return;
-
-        final ByteBuffer tempData = notNull(getTempData());
-        tempData.clear();
+        final FxFrameBuffers frameBuffers = getFrameBuffers();
+        if (sceneInterface == null || frameBuffers == null) return;
 
-        final int sceneWidth = getSceneWidth();
-        final int sceneHeight = getSceneHeight();
+        final int width = frameBuffers.getWidth();
+        final int height = frameBuffers.getHeight();
 
-        if (!sceneInterface.getPixels(notNull(getTempIntData()), sceneWidth, sceneHeight)) {
+        // javaFX renders right to the back buffer which isn't used by jME
+        if (!sceneInterface.getPixels(frameBuffers.getBackIntBuffer(), width, height)) {
             return;
         }
 
-        tempData.flip();
-        tempData.limit(sceneWidth * sceneHeight * 4);
-
-        final AsyncReadSyncWriteLock imageLock = getImageLock();
-        imageLock.syncLock();
-        try {
-
-            final ByteBuffer fxData = notNull(getFxData());
-            fxData.clear();
-            fxData.put(tempData);
-            fxData.flip();
-
-            final Function<ByteBuffer, Void> reorderData = getReorderData();
-
-            if (reorderData != null) {
-                reorderData.apply(fxData);
-                fxData.position(0);
-            }
-
-        } catch (final Exception exc) {
-            LOGGER.warning(exc.getMessage(), exc);
-        } finally {
-            imageLock.syncUnlock();
-        }
-
-        final AtomicInteger waitCount = getWaitCount();
-        waitCount.incrementAndGet();
+        frameBuffers.getBackMask().update(frameBuffers.getBackBuffer(), alphaOffset);
+        frameBuffers.publish();
 
         if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
             LOGGER.debug(this, "finished paint FX scene(" + (System.currentTimeMillis() - time) + "ms.).");
@@ -879,9 +772,6 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
     @Override
     public Void writeToJme() {
 
-        final AtomicInteger waitCount = getWaitCount();
-        final int currentCount = waitCount.get();
-
         long time = 0;
 
         if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
@@ -889,23 +779,48 @@ public class JmeFxContainerImpl implements JmeFxContainer, JmeFxContainerInterna
             LOGGER.debug(this, "Started writing FX data to JME...");
         }
 
-        final ByteBuffer jmeData = notNull(getJmeData());
-        jmeData.clear();
+        final FxFrameBuffers frameBuffers = getFrameBuffers();
+        final Image jmeImage = getJmeImage();
 
-        final AsyncReadSyncWriteLock imageLock = getImageLock();
-        imageLock.syncLock();
-        try {
-            jmeData.put(notNull(getFxData()));
-        } finally {
-            imageLock.syncUnlock();
+        if (frameBuffers == null || jmeImage == null) {
+            return null;
+        }
+
+        final ByteBuffer frame = frameBuffers.takeNewest();
+
+        if (frame == null) {
+            return null;
         }
 
-        jmeData.flip();
+        final FxFrameBuffers presentedBuffers = this.presentedBuffers;
+        final boolean resized = presentedBuffers != frameBuffers;
+
+        // the image reuses its texture for the new size
+        if (resized) {
+            jmeImage.setWidth(frameBuffers.getWidth());
+            jmeImage.setHeight(frameBuffers.getHeight());
+        }
+
+        // the image presents the newest frame from now, the previous front buffer is free for javaFX
+        jmeImage.setData(0, frame);
+
+        this.coverageMask = frameBuffers.getFrontMask();
 
-        final Image jmeImage = notNull(getJmeImage());
-        jmeImage.setUpdateNeeded();
+        // the first frame of the new size, javaFX can't render to the previous buffers anymore
+        if (resized) {
 
-        waitCount.subAndGet(currentCount);
+            this.presentedBuffers = frameBuffers;
+
+            if (presentedBuffers != null) {
+                presentedBuffers.dispose();
+            }
+
+            for (final FxFrameBuffers buffers : supersededBuffers) {
+                buffers.dispose();
+            }
+
+            supersededBuffers.clear();
+        }
 
         if (LOGGER.isEnabled(LoggerLevel.DEBUG)) {
             LOGGER.debug(this, "Finished writing FX data to JME(" + (System.currentTimeMillis() - time) + "ms.).");
@@ -2,6 +2,7 @@ package com.jme3.jfx.injme;
 
 import com.jme3.app.Application;
 import com.jme3.jfx.injme.input.JmeFXInputListener;
+import com.jme3.jfx.injme.util.JmeWindowTracker;
 import com.jme3.system.JmeContext;
 import com.sun.javafx.cursor.CursorFrame;
 import com.sun.javafx.embed.EmbeddedSceneInterface;
@@ -151,6 +152,13 @@ public interface JmeFxContainerInternal extends JmeFxContainer {
      */
     void setStageInterface(@Nullable EmbeddedStageInterface stageInterface);
 
+    /**
+     * Gets the tracker of the geometry of the jME window.
+     *
+     * @return the tracker of the geometry of the jME window.
+     */
+    @NotNull JmeWindowTracker getWindowTracker();
+
     /**
      * Fit scene to window size.
      */
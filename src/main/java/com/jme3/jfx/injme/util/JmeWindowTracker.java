@@ -0,0 +1,300 @@
+package com.jme3.jfx.injme.util;
+
+import com.jme3.app.Application;
+import com.jme3.post.SceneProcessor;
+import com.jme3.profile.AppProfiler;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.system.lwjgl.LwjglWindow;
+import com.jme3.texture.FrameBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWWindowPosCallback;
+
+/**
+ * The tracker of the geometry of a jME window by events instead of polling the window every frame.
+ * <p>
+ * The size is tracked by reshape notifications of the GUI view port in pixels of the framebuffer, so it works with
+ * any jME context, the position is tracked by the GLFW position callback of LWJGL windows and is always (0, 0) for
+ * other contexts.
+ *
+ * @author JavaSaBr
+ */
+public class JmeWindowTracker {
+
+    /**
+     * The listener of reshaping the GUI view port.
+     */
+    private final class ReshapeListener implements SceneProcessor {
+
+        /**
+         * The flag of initializing.
+         */
+        private boolean initialized;
+
+        @Override
+        public void initialize(@NotNull RenderManager renderManager, @NotNull ViewPort viewPort) {
+            this.initialized = true;
+        }
+
+        @Override
+        public void reshape(@NotNull ViewPort viewPort, int width, int height) {
+            notifyResized(width, height);
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return initialized;
+        }
+
+        @Override
+        public void preFrame(float tpf) {
+        }
+
+        @Override
+        public void postQueue(@NotNull RenderQueue renderQueue) {
+        }
+
+        @Override
+        public void postFrame(@Nullable FrameBuffer out) {
+        }
+
+        @Override
+        public void cleanup() {
+            this.initialized = false;
+        }
+
+        @Override
+        public void setProfiler(@NotNull AppProfiler profiler) {
+        }
+    }
+
+    /**
+     * The application.
+     */
+    @NotNull
+    private final Application application;
+
+    /**
+     * The listener of reshaping the GUI view port.
+     */
+    @NotNull
+    private final ReshapeListener reshapeListener;
+
+    /**
+     * The installed GLFW position callback or null if the context isn't a LWJGL window.
+     */
+    @Nullable
+    private GLFWWindowPosCallback positionCallback;
+
+    /**
+     * The previous GLFW position callback which is called by the installed callback.
+     */
+    @Nullable
+    private GLFWWindowPosCallback prevPositionCallback;
+
+    /**
+     * The width of the window.
+     */
+    private volatile int width;
+
+    /**
+     * The height of the window.
+     */
+    private volatile int height;
+
+    /**
+     * The X position of the window.
+     */
+    private volatile int x;
+
+    /**
+     * The Y position of the window.
+     */
+    private volatile int y;
+
+    /**
+     * The flag of changing the size since the last taking.
+     */
+    private volatile boolean resized;
+
+    /**
+     * The flag of changing the position since the last taking.
+     */
+    private volatile boolean moved;
+
+    /**
+     * Create and start a new tracker, must be called in the jME thread.
+     *
+     * @param application the application.
+     */
+    public JmeWindowTracker(@NotNull Application application) {
+        this.application = application;
+        this.reshapeListener = new ReshapeListener();
+
+        var context = application.getContext();
+
+        if (context instanceof LwjglWindow) {
+
+            var windowHandle = ((LwjglWindow) context).getWindowHandle();
+
+            // the current geometry is read only once, later changes come by events, the size is in pixels of
+            // the framebuffer as reshaping of the GUI view port reports it, so it doesn't jump on HiDPI displays
+            this.width = JmeWindowUtils.getFramebufferWidth(context);
+            this.height = JmeWindowUtils.getFramebufferHeight(context);
+            this.x = JmeWindowUtils.getX(context);
+            this.y = JmeWindowUtils.getY(context);
+            this.positionCallback = GLFWWindowPosCallback.create(this::onWindowPos);
+            this.prevPositionCallback = GLFW.glfwSetWindowPosCallback(windowHandle, positionCallback);
+
+        } else {
+            var settings = context.getSettings();
+            this.width = settings.getWidth();
+            this.height = settings.getHeight();
+        }
+
+        this.resized = true;
+        this.moved = true;
+
+        application.getGuiViewPort().addProcessor(reshapeListener);
+    }
+
+    /**
+     * Handle the GLFW position callback.
+     *
+     * @param window the window handle.
+     * @param x      the new X position.
+     * @param y      the new Y position.
+     */
+    private void onWindowPos(long window, int x, int y) {
+
+        if (prevPositionCallback != null) {
+            prevPositionCallback.invoke(window, x, y);
+        }
+
+        notifyMoved(x, y);
+    }
+
+    /**
+     * Notify about resizing the window.
+     *
+     * @param width  the new width.
+     * @param height the new height.
+     */
+    public void notifyResized(int width, int height) {
+
+        if (this.width == width && this.height == height) {
+            return;
+        }
+
+        this.width = width;
+        this.height = height;
+        this.resized = true;
+    }
+
+    /**
+     * Notify about moving the window.
+     *
+     * @param x the new X position.
+     * @param y the new Y position.
+     */
+    public void notifyMoved(int x, int y) {
+
+        if (this.x == x && this.y == y) {
+            return;
+        }
+
+        this.x = x;
+        this.y = y;
+        this.moved = true;
+    }
+
+    /**
+     * Gets the width of the window.
+     *
+     * @return the width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the window.
+     *
+     * @return the height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the X position of the window.
+     *
+     * @return the X position.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Gets the Y position of the window.
+     *
+     * @return the Y position.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Check of changing the size since the last taking.
+     *
+     * @return true if the window was resized.
+     */
+    public boolean isResized() {
+        return resized;
+    }
+
+    /**
+     * Take the flag of changing the size, the flag is reset.
+     *
+     * @return true if the window was resized.
+     */
+    public boolean takeResized() {
+        var resized = this.resized;
+        this.resized = false;
+        return resized;
+    }
+
+    /**
+     * Take the flag of changing the position, the flag is reset.
+     *
+     * @return true if the window was moved.
+     */
+    public boolean takeMoved() {
+        var moved = this.moved;
+        this.moved = false;
+        return moved;
+    }
+
+    /**
+     * Stop tracking and restore the previous GLFW position callback, must be called in the jME thread.
+     */
+    public void dispose() {
+
+        application.getGuiViewPort().removeProcessor(reshapeListener);
+
+        var context = application.getContext();
+
+        if (positionCallback == null || !(context instanceof LwjglWindow)) {
+            return;
+        }
+
+        GLFW.glfwSetWindowPosCallback(((LwjglWindow) context).getWindowHandle(), prevPositionCallback);
+
+        positionCallback.free();
+        positionCallback = null;
+        prevPositionCallback = null;
+    }
+}
@@ -84,6 +84,36 @@ public class JmeWindowUtils {
         return height.get(0);
     }
 
+    public static int getFramebufferWidth(@NotNull final JmeContext context) {
+
+        final LwjglWindow lwjglContext = (LwjglWindow) context;
+        final long windowHandle = lwjglContext.getWindowHandle();
+
+        final IntBuffer width = LOCAL_FIRST_INT_BUFFER.get();
+        final IntBuffer height = LOCAL_SECOND_INT_BUFFER.get();
+        width.clear();
+        height.clear();
+
+        GLFW.glfwGetFramebufferSize(windowHandle, width, height);
+
+        return width.get(0);
+    }
+
+    public static int getFramebufferHeight(@NotNull final JmeContext context) {
+
+        final LwjglWindow lwjglContext = (LwjglWindow) context;
+        final long windowHandle = lwjglContext.getWindowHandle();
+
+        final IntBuffer width = LOCAL_FIRST_INT_BUFFER.get();
+        final IntBuffer height = LOCAL_SECOND_INT_BUFFER.get();
+        width.clear();
+        height.clear();
+
+        GLFW.glfwGetFramebufferSize(windowHandle, width, height);
+
+        return height.get(0);
+    }
+
     public static boolean isFullscreen(@NotNull final JmeContext jmeContext) {
         final AppSettings settings = jmeContext.getSettings();
         return settings.isFullscreen();
@@ -0,0 +1,116 @@
+package com.jme3.jfx.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The class with utility methods to work with regions of pixels in buffers. All buffers are expected to be in
+ * little endian byte order, all offsets and lengths are in bytes and are multiple of 4.
+ *
+ * @author JavaSaBr
+ */
+public class PixelUtils {
+
+    /**
+     * Find the first difference between regions of two buffers.
+     *
+     * @param first  the first buffer.
+     * @param second the second buffer.
+     * @param offset the offset of the regions.
+     * @param length the length of the regions.
+     * @return the offset of the first different pixel or -1 if the regions are equal.
+     */
+    public static int mismatch(@NotNull ByteBuffer first, @NotNull ByteBuffer second, int offset, int length) {
+
+        var end = offset + length;
+        var i = offset;
+
+        for (var longEnd = end - 7; i < longEnd; i += 8) {
+            if (first.getLong(i) != second.getLong(i)) {
+                return first.getInt(i) != second.getInt(i) ? i : i + 4;
+            }
+        }
+
+        for (; i < end; i += 4) {
+            if (first.getInt(i) != second.getInt(i)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Copy a region from one buffer to the same region of another buffer.
+     *
+     * @param source      the source buffer.
+     * @param destination the destination buffer.
+     * @param offset      the offset of the region.
+     * @param length      the length of the region.
+     */
+    public static void copy(@NotNull ByteBuffer source, @NotNull ByteBuffer destination, int offset, int length) {
+
+        var end = offset + length;
+        var i = offset;
+
+        for (var longEnd = end - 7; i < longEnd; i += 8) {
+            destination.putLong(i, source.getLong(i));
+        }
+
+        for (; i < end; i += 4) {
+            destination.putInt(i, source.getInt(i));
+        }
+    }
+
+    /**
+     * Copy a region of RGBA pixels from one buffer to the same region of another buffer as BGRA pixels.
+     *
+     * @param source      the source buffer.
+     * @param destination the destination buffer.
+     * @param offset      the offset of the region.
+     * @param length      the length of the region.
+     */
+    public static void copyRgbaToBgra(@NotNull ByteBuffer source, @NotNull ByteBuffer destination, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i += 4) {
+            var rgba = source.getInt(i);
+            destination.putInt(i, (rgba & 0xFF00FF00) | ((rgba & 0xFF) << 16) | ((rgba >> 16) & 0xFF));
+        }
+    }
+
+    /**
+     * Copy a region of RGBA pixels from one buffer to the same region of another buffer as BGRA pixels with
+     * premultiplied alpha.
+     *
+     * @param source      the source buffer.
+     * @param destination the destination buffer.
+     * @param offset      the offset of the region.
+     * @param length      the length of the region.
+     */
+    public static void copyRgbaToBgraPre(@NotNull ByteBuffer source, @NotNull ByteBuffer destination, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i += 4) {
+
+            var rgba = source.getInt(i);
+            var alpha = rgba >>> 24;
+
+            if (alpha == 0xFF) {
+                destination.putInt(i, (rgba & 0xFF00FF00) | ((rgba & 0xFF) << 16) | ((rgba >> 16) & 0xFF));
+                continue;
+            } else if (alpha == 0) {
+                destination.putInt(i, 0);
+                continue;
+            }
+
+            var red = premultiply(rgba & 0xFF, alpha);
+            var green = premultiply((rgba >> 8) & 0xFF, alpha);
+            var blue = premultiply((rgba >> 16) & 0xFF, alpha);
+
+            destination.putInt(i, (alpha << 24) | (red << 16) | (green << 8) | blue);
+        }
+    }
+
+    private static int premultiply(int color, int alpha) {
+        var value = color * alpha + 128;
+        return (value + (value >> 8)) >> 8;
+    }
+}
@@ -0,0 +1,11 @@
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+uniform sampler2D m_Texture;
+
+varying vec2 texCoord;
+
+void main() {
+    vec4 color = texture2D(m_Texture, texCoord);
+    // BGRA byte order with premultiplied alpha as JavaFX's BYTE_BGRA_PRE format
+    gl_FragColor = vec4(color.b * color.a, color.g * color.a, color.r * color.a, color.a);
+}
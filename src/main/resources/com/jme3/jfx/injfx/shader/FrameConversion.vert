@@ -0,0 +1,12 @@
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+attribute vec3 inPosition;
+attribute vec2 inTexCoord;
+
+varying vec2 texCoord;
+
+void main() {
+    // the first row of the result should be the top row of the frame as JavaFX expects
+    texCoord = vec2(inTexCoord.x, 1.0 - inTexCoord.y);
+    gl_Position = vec4(inPosition.xy * 2.0 - 1.0, 0.0, 1.0);
+}
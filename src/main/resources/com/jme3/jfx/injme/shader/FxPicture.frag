@@ -0,0 +1,18 @@
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+uniform sampler2D m_Texture;
+
+varying vec2 texCoord;
+
+void main() {
+    vec4 color = texture2D(m_Texture, texCoord);
+
+    // bytes of the frame are uploaded as is, so channels are reordered on sampling
+    #if defined(ARGB_ORDER)
+        color = color.gbar;
+    #elif defined(BGRA_ORDER)
+        color = color.bgra;
+    #endif
+
+    gl_FragColor = color;
+}
@@ -0,0 +1,71 @@
+package com.jme3.jfx;
+
+import com.jme3.jfx.injfx.JmeToJfxApplication;
+import com.jme3.jfx.injfx.JmeToJfxIntegrator;
+import com.jme3.jfx.injfx.transfer.impl.FrameRecorder;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.AppSettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Paths;
+
+/**
+ * The test to show how to render jME frames to a frame sink without JavaFX.
+ *
+ * @author JavaSaBr
+ */
+public class TestJmeToFrameSink {
+
+    public static void main(@NotNull String[] args) throws Exception {
+
+        var directory = Paths.get(args.length > 0 ? args[0] : "frames");
+
+        // records every 10th frame to PNG files
+        var recorder = new FrameRecorder(directory, FrameRecorder.Output.PNG, FrameRecorder.Policy.SAMPLE, 10, 4);
+
+        // creates jME application
+        var application = makeJmeApplication();
+
+        // integrate jME application with the recorder
+        var processor = JmeToJfxIntegrator.startAndBindHeadless(application, recorder, 640, 480, Thread::new);
+
+        Thread.sleep(5000);
+
+        application.stop(true);
+        recorder.close();
+
+        System.out.println("Recorded " + recorder.getRecordedFrames() + " frames of " + processor.getWidth() + "x" +
+                processor.getHeight() + " to " + directory.toAbsolutePath());
+    }
+
+    private static @NotNull JmeToJfxApplication makeJmeApplication() {
+
+        var settings = JmeToJfxIntegrator.prepareSettings(new AppSettings(true), 60);
+        var application = new JmeToJfxApplication() {
+
+            protected Geometry player;
+
+            @Override
+            public void simpleInitApp() {
+                super.simpleInitApp();
+                Box b = new Box(1, 1, 1);
+                player = new Geometry("Player", b);
+                Material mat = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+                mat.setColor("Color", ColorRGBA.Blue);
+                player.setMaterial(mat);
+                rootNode.attachChild(player);
+            }
+
+            @Override
+            public void simpleUpdate(float tpf) {
+                player.rotate(0, tpf, 0);
+            }
+        };
+        application.setSettings(settings);
+        application.setShowSettings(false);
+        return application;
+    }
+}
@@ -0,0 +1,145 @@
+package com.jme3.jfx.injfx.processor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import com.jme3.asset.DesktopAssetManager;
+import com.jme3.material.Material;
+import com.jme3.material.TechniqueDef;
+import com.jme3.renderer.Caps;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.NullRenderer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture2D;
+import com.jme3.util.BufferUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * The tests of tracking changes of view ports.
+ *
+ * @author JavaSaBr
+ */
+public class ViewPortChangeTrackerTest {
+
+    private ViewPortChangeTracker tracker;
+    private ViewPort viewPort;
+    private Geometry geometry;
+    private Texture2D texture;
+
+    @Before
+    public void setUp() {
+
+        var renderer = new NullRenderer();
+        renderer.getCaps().add(Caps.GLSL100);
+
+        var renderManager = new RenderManager(renderer);
+        var assetManager = new DesktopAssetManager(true);
+
+        texture = new Texture2D(4, 4, Image.Format.RGBA8);
+
+        var material = new Material(assetManager, "com/jme3/jfx/injfx/shader/FrameConversion.j3md");
+        material.setTexture("Texture", texture);
+        material.selectTechnique(TechniqueDef.DEFAULT_TECHNIQUE_NAME, renderManager);
+
+        geometry = new Geometry("box", new Box(1, 1, 1));
+        geometry.setMaterial(material);
+
+        var scene = new Node("scene");
+        scene.attachChild(geometry);
+        scene.updateGeometricState();
+
+        viewPort = new ViewPort("test", new Camera(64, 64));
+        viewPort.attachScene(scene);
+
+        tracker = new ViewPortChangeTracker();
+
+        // the first frame is always read
+        assertTrue(renderFrame());
+        assertFalse(renderFrame());
+    }
+
+    @Test
+    public void shouldSkipStaticFrames() {
+        assertFalse(renderFrame());
+        assertFalse(renderFrame());
+    }
+
+    @Test
+    public void shouldReadFrameAfterUpdatingMeshBuffer() {
+
+        var positions = geometry.getMesh().getBuffer(VertexBuffer.Type.Position);
+        positions.updateData(BufferUtils.clone(positions.getData()));
+
+        assertTrue(renderFrame());
+        assertFalse(renderFrame());
+    }
+
+    @Test
+    public void shouldReadFrameAfterUpdatingTexture() {
+
+        texture.getImage().setUpdateNeeded();
+
+        assertTrue(renderFrame());
+        assertFalse(renderFrame());
+    }
+
+    @Test
+    public void shouldReadFrameAfterMovingCamera() {
+
+        viewPort.getCamera().setLocation(viewPort.getCamera().getLocation().add(0, 0, 1));
+
+        assertTrue(renderFrame());
+        assertFalse(renderFrame());
+    }
+
+    @Test
+    public void shouldReadFramesOfReadbackLatency() {
+
+        tracker.markDirty();
+
+        assertTrue(tracker.update(List.of(viewPort), 1));
+        uploadScene();
+        assertTrue(tracker.update(List.of(viewPort), 1));
+        uploadScene();
+        assertFalse(tracker.update(List.of(viewPort), 1));
+    }
+
+    @Test
+    public void shouldReadFrameAgainAfterSkippedRead() {
+
+        tracker.markDirty();
+
+        assertTrue(renderFrame());
+        tracker.notifyReadSkipped();
+        assertTrue(renderFrame());
+        assertFalse(renderFrame());
+    }
+
+    /**
+     * Check the view port before rendering and emulate uploading of the scene which clears pending updates.
+     *
+     * @return true if the rendered frame should be read.
+     */
+    private boolean renderFrame() {
+        var result = tracker.update(List.of(viewPort), 0);
+        uploadScene();
+        return result;
+    }
+
+    private void uploadScene() {
+
+        for (var buffer : geometry.getMesh().getBufferList()) {
+            buffer.clearUpdateNeeded();
+        }
+
+        texture.getImage().clearUpdateNeeded();
+    }
+}